@@ -0,0 +1,66 @@
+package script.bench;
+
+import org.openjdk.jmh.annotations.*;
+import script.BotRunner;
+import script.client.sim.SimulatedBot;
+import script.client.sim.SimulatedGameClient;
+import script.client.sim.SimulationRunner;
+import script.state.BotState;
+import script.state.FishingState;
+import script.state.WoodcuttingState;
+import script.world.WorldSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-iteration cost of the state machine; the simulated world advances as the benchmark runs
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoopBenchmark {
+    private static final long SEED = 1L;
+
+    private SimulatedGameClient client;
+    private SimulatedBot bot;
+    private BotRunner context;
+    private BotState fishingState;
+    private BotState woodcuttingState;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = SimulationRunner.createWorld(SEED);
+        bot = new SimulatedBot(client, SEED);
+        context = bot.getRunner();
+        fishingState = new FishingState(context);
+        woodcuttingState = new WoodcuttingState(context);
+        bot.registerState(runner -> fishingState);
+        bot.registerState(runner -> woodcuttingState);
+        fishingState.onEnter(context);
+        woodcuttingState.onEnter(context);
+    }
+
+    // Snapshot, scheduler bookkeeping, execute, nextState and the scheduler sleep, as in MainScript.onLoop
+    @Benchmark
+    public void loopIteration() throws InterruptedException {
+        bot.runIteration();
+    }
+
+    @Benchmark
+    public WorldSnapshot captureSnapshot() {
+        return WorldSnapshot.capture(client);
+    }
+
+    @Benchmark
+    public BotState fishingExecuteAndNextState() throws InterruptedException {
+        fishingState.execute(context, WorldSnapshot.capture(client));
+        return fishingState.nextState(context);
+    }
+
+    @Benchmark
+    public BotState woodcuttingExecuteAndNextState() throws InterruptedException {
+        woodcuttingState.execute(context, WorldSnapshot.capture(client));
+        return woodcuttingState.nextState(context);
+    }
+}
@@ -0,0 +1,89 @@
+package script.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.osbot.rs07.api.ui.Skill;
+import script.client.sim.SimulatedGameClient;
+import script.client.sim.SimulationRunner;
+import script.paint.ExperienceTracker;
+import script.paint.OSDPainter;
+import script.paint.SkillTrackers;
+import script.scheduler.LoopStats;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// Script-thread bookkeeping for the paint and the paint itself into an off-screen canvas
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaintBenchmark {
+    private static final int CANVAS_WIDTH = 765;
+    private static final int CANVAS_HEIGHT = 503; // Fixed mode game canvas, which is opaque RGB
+
+    private SimulatedGameClient client;
+    private ExperienceTracker experienceTracker;
+    private OSDPainter painter;
+    private BufferedImage canvas;
+    private Graphics2D graphics;
+    private long publishTime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = SimulationRunner.createWorld(1L);
+        experienceTracker = new ExperienceTracker(client);
+        SkillTrackers skillTrackers = new SkillTrackers(client);
+        experienceTracker.addListener(skillTrackers);
+        painter = new OSDPainter(client, skillTrackers, new LoopStats(client.currentTime()));
+        skillTrackers.registerStateSkill(Skill.FISHING);
+        skillTrackers.registerStateSkill(Skill.WOODCUTTING);
+        skillTrackers.setActiveSkill(Skill.WOODCUTTING, client.currentTime());
+
+        // Give the painter two trackers with a few minutes of history
+        for (int i = 0; i < 300; i++) {
+            client.addExperience(Skill.WOODCUTTING, 25);
+            client.addExperience(Skill.FISHING, 10);
+            client.sleep(SimulatedGameClient.TICK_MS);
+            experienceTracker.poll(client.currentTime());
+        }
+        publishTime = client.currentTime();
+        painter.publishStats(publishTime);
+
+        canvas = new BufferedImage(CANVAS_WIDTH, CANVAS_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        graphics = canvas.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    // Replaces checkForNewSkills: one experience read per skill and no allocation when nothing changed
+    @Benchmark
+    public void pollExperience() {
+        experienceTracker.poll(client.currentTime());
+    }
+
+    @Benchmark
+    public void publishStats() {
+        publishTime += 1000;
+        painter.publishStats(publishTime);
+    }
+
+    // Steady state: the cached panel is blitted
+    @Benchmark
+    public void paintCached() {
+        painter.onPaint(graphics);
+    }
+
+    // Every frame sees a new snapshot, so the panel is rendered again
+    @Benchmark
+    public void paintWithFreshStats() {
+        publishTime += 1000;
+        painter.publishStats(publishTime);
+        painter.onPaint(graphics);
+    }
+}
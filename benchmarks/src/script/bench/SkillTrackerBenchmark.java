@@ -0,0 +1,60 @@
+package script.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.osbot.rs07.api.ui.Skill;
+import script.client.sim.SimulatedGameClient;
+import script.client.sim.SimulationRunner;
+import script.paint.SkillTracker;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillTrackerBenchmark {
+    private SimulatedGameClient client;
+    private SkillTracker tracker;
+    private int exp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = SimulationRunner.createWorld(1L);
+        tracker = new SkillTracker(client, Skill.WOODCUTTING, client.currentTime(), true);
+
+        // Fill the sample buffer past the fifteen minute window
+        for (int i = 0; i < 2000; i++) {
+            client.addExperience(Skill.WOODCUTTING, 25);
+            client.sleep(SimulatedGameClient.TICK_MS);
+            tracker.recordExperience(client.getSkills().getExperience(Skill.WOODCUTTING), client.currentTime());
+        }
+        exp = client.getSkills().getExperience(Skill.WOODCUTTING);
+    }
+
+    @Benchmark
+    public void recordExperience() {
+        tracker.recordExperience(exp, client.currentTime());
+    }
+
+    @Benchmark
+    public int expPerHourSession() {
+        return tracker.getExpPerHour();
+    }
+
+    @Benchmark
+    public int expPerHourFiveMinutes() {
+        return tracker.getExpPerHour(SkillTracker.FIVE_MINUTES);
+    }
+
+    @Benchmark
+    public int expPerHourFifteenMinutes() {
+        return tracker.getExpPerHour(SkillTracker.FIFTEEN_MINUTES);
+    }
+
+    @Benchmark
+    public long timeToNextLevel() {
+        return tracker.getTimeToNextLevel();
+    }
+}
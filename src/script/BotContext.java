@@ -0,0 +1,24 @@
+package script;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.catalog.TrainingCatalog;
+import script.client.GameClient;
+import script.paint.ExperienceTracker;
+import script.paint.SkillTracker;
+import script.state.BotState;
+import script.strategy.banking.BankCache;
+import script.strategy.banking.BankLocator;
+
+// What states need from whoever drives the state machine: BotRunner, for MainScript live and the simulator offline
+public interface BotContext {
+    GameClient getClient();
+    BankCache getBankCache();
+    BankLocator getBankLocator();
+    TrainingCatalog getTrainingCatalog();
+    ExperienceTracker getExperienceTracker();
+    SkillTracker getSkillTracker(Skill skill); // Null until the skill has a tracker
+    void setCurrentState(BotState newState);
+    // Next state to train from the skill goals, given the current one or null at the start
+    BotState pickNextState(BotState currentState);
+    void log(String message);
+}
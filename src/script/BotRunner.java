@@ -0,0 +1,207 @@
+package script;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.catalog.TrainingCatalog;
+import script.client.GameClient;
+import script.paint.ExperienceTracker;
+import script.paint.SkillTracker;
+import script.paint.SkillTrackers;
+import script.scheduler.LoopScheduler;
+import script.scheduler.LoopStats;
+import script.scheduler.SkillScheduler;
+import script.state.BotState;
+import script.state.SessionJournal;
+import script.strategy.banking.BankCache;
+import script.strategy.banking.BankLocator;
+import script.world.WorldSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+// The state machine behind onLoop, shared by MainScript in the client and SimulatedBot offline so the simulator runs
+// the shipped loop rather than a copy of it
+public class BotRunner implements BotContext {
+    private static final long TRACKER_RECORD_INTERVAL_MS = 60000;
+    private static final int LOGIN_POLL_MS = 1000;
+
+    private final GameClient client;
+    private final LoopScheduler loopScheduler;
+    private final ExperienceTracker experienceTracker;
+    private final SkillTrackers skillTrackers;
+    private BankCache bankCache;
+    private final BankLocator bankLocator;
+    private final TrainingCatalog trainingCatalog;
+    private final SkillScheduler skillScheduler;
+    private final List<BotState> states = new ArrayList<>();
+    private BotState currentState;
+    private boolean stateChanged;
+    private SessionJournal sessionJournal;
+    private long journaledSessionEnd;
+    private long lastTrackerRecordTime;
+
+    public BotRunner(GameClient client, Random random) {
+        this.client = client;
+        this.loopScheduler = new LoopScheduler(client.getWaits().getTickClock(), client.currentTime(), random);
+        this.experienceTracker = new ExperienceTracker(client);
+        this.skillTrackers = new SkillTrackers(client);
+        experienceTracker.addListener(skillTrackers);
+        this.bankLocator = new BankLocator(client.getRouteCache());
+        this.trainingCatalog = TrainingCatalog.acquireShared(client);
+        this.skillScheduler = new SkillScheduler(trainingCatalog);
+    }
+
+    public void registerState(Function<BotContext, BotState> factory) {
+        BotState state = factory.apply(this);
+        states.add(state);
+        skillTrackers.registerStateSkill(state.getTrainedSkill());
+    }
+
+    // Called once every state is registered: resumes the journaled session or picks the first skill. The bank cache
+    // and journal are kept per account, so until the client is logged in this does nothing and returns false; loop
+    // keeps trying.
+    public boolean start() {
+        if (client.getPlayer().getName() == null) {
+            return false;
+        }
+        bankCache = new BankCache(BankCache.fileFor(client));
+        bankCache.load(client);
+        sessionJournal = new SessionJournal(SessionJournal.fileFor(client));
+        sessionJournal.replay(client);
+        if (!resumeSession()) {
+            changeState(pickNextState(null));
+        }
+        return true;
+    }
+
+    // Goes back to the skill, session and tracker baselines journaled before a restart; false when there is nothing
+    // to resume
+    private boolean resumeSession() {
+        for (Skill skill : Skill.values()) {
+            SessionJournal.TrackerRecord record = sessionJournal.getTracker(skill);
+            if (record != null) {
+                skillTrackers.resume(new SkillTracker(client, skill, record.getStartExp(), record.getStartLevel(),
+                        record.getActiveTime()));
+            }
+        }
+        long now = client.currentTime();
+        for (BotState state : states) {
+            if (state.getTrainedSkill() == sessionJournal.getStateSkill() && sessionJournal.getSessionEnd() > now) {
+                log("Resuming " + state.getTrainedSkill() + " session journaled before the restart");
+                state.onResume(this, sessionJournal.getSessionEnd());
+                journaledSessionEnd = state.getSessionEnd();
+                currentState = state;
+                skillTrackers.setActiveSkill(state.getTrainedSkill(), now);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // One onLoop pass; returns the delay until the next one
+    public int loop() throws InterruptedException {
+        if (currentState == null && !start()) {
+            return LOGIN_POLL_MS;
+        }
+        WorldSnapshot snapshot = WorldSnapshot.capture(client);
+        loopScheduler.beginIteration(snapshot.getTime(), currentState.getActivity(snapshot), snapshot.getFingerprint());
+        currentState.execute(this, snapshot);
+        if (!stateChanged) {
+            changeState(currentState.nextState(this));
+        }
+        long now = client.currentTime();
+        experienceTracker.poll(now);
+        journalSession(now);
+        stateChanged = false;
+        return loopScheduler.nextDelay(now, currentState.getActivity(snapshot));
+    }
+
+    // Saves the trackers and lets go of shared data; the runner is not used afterwards
+    public void stop() {
+        if (sessionJournal != null) {
+            sessionJournal.recordTrackers(client, skillTrackers.getAll());
+        }
+        TrainingCatalog.releaseShared(client);
+    }
+
+    private void journalSession(long now) {
+        if (currentState.getSessionEnd() != journaledSessionEnd) {
+            journaledSessionEnd = currentState.getSessionEnd();
+            sessionJournal.recordState(client, currentState.getTrainedSkill(), journaledSessionEnd);
+        }
+        if (now - lastTrackerRecordTime >= TRACKER_RECORD_INTERVAL_MS) {
+            sessionJournal.recordTrackers(client, skillTrackers.getAll());
+            lastTrackerRecordTime = now;
+        }
+    }
+
+    // Null until the runner has started
+    public BotState getCurrentState() {
+        return currentState;
+    }
+
+    public SkillTrackers getSkillTrackers() {
+        return skillTrackers;
+    }
+
+    @Override
+    public ExperienceTracker getExperienceTracker() {
+        return experienceTracker;
+    }
+
+    public LoopStats getLoopStats() {
+        return loopScheduler.getStats();
+    }
+
+    @Override
+    public GameClient getClient() {
+        return client;
+    }
+
+    @Override
+    public BankCache getBankCache() {
+        return bankCache;
+    }
+
+    @Override
+    public BankLocator getBankLocator() {
+        return bankLocator;
+    }
+
+    @Override
+    public TrainingCatalog getTrainingCatalog() {
+        return trainingCatalog;
+    }
+
+    @Override
+    public SkillTracker getSkillTracker(Skill skill) {
+        return skillTrackers.get(skill);
+    }
+
+    @Override
+    public void setCurrentState(BotState newState) {
+        changeState(newState);
+        this.stateChanged = true;
+    }
+
+    private void changeState(BotState newState) {
+        if (newState != currentState) {
+            if (currentState == null || currentState.getTrainedSkill() != newState.getTrainedSkill()) {
+                newState.onEnter(this);
+            }
+            skillTrackers.setActiveSkill(newState.getTrainedSkill(), client.currentTime());
+        }
+        this.currentState = newState;
+    }
+
+    @Override
+    public BotState pickNextState(BotState currentState) {
+        return skillScheduler.pickNext(this, states, currentState);
+    }
+
+    @Override
+    public void log(String message) {
+        client.log(message);
+    }
+}
@@ -2,71 +2,54 @@ package script;
 
 import org.osbot.rs07.script.Script;
 import org.osbot.rs07.script.ScriptManifest;
+import script.client.osbot.OsbotGameClient;
 import script.paint.OSDPainter;
-import script.state.BotState;
+import script.scheduler.WaitHistogram;
 import script.state.FishingState;
 import script.state.WoodcuttingState;
 
 import java.awt.*;
-import java.lang.reflect.InvocationTargetException;
-import java.util.*;
-import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 @ScriptManifest(name = "AccountTrainer", author = "Boyd", version = 1.0, info = "", logo = "")
 public class MainScript extends Script {
 
-    private BotState currentState;
-    private boolean stateChanged;
+    private OsbotGameClient client;
+    private BotRunner runner;
     private OSDPainter osdPainter;
-    private Map<Class<? extends BotState>, BotState> stateMap;
-
 
     @Override
     public void onStart() {
-        osdPainter = new OSDPainter(this);
-        stateMap = new HashMap<>();
+        client = new OsbotGameClient(this);
+        runner = new BotRunner(client, new Random());
+        osdPainter = new OSDPainter(client, runner.getSkillTrackers(), runner.getLoopStats());
 
         // Register states
-        registerState(FishingState.class);
-        registerState(WoodcuttingState.class);
+        runner.registerState(FishingState::new);
+        runner.registerState(WoodcuttingState::new);
         // Add other states here
-
-        currentState = pickRandomState(null);
-    }
-
-    private void registerState(Class<? extends BotState> stateClass) {
-        try {
-            stateMap.put(stateClass, stateClass.getDeclaredConstructor(MainScript.class).newInstance(this));
-        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-            e.printStackTrace();
-        }
+        // The runner starts on the first loop where the client is logged in
     }
 
     @Override
     public int onLoop() throws InterruptedException {
-        currentState.execute(this);
-        if (!stateChanged) {
-            currentState = currentState.nextState(this);
-        }
-        osdPainter.checkForNewSkills();
-        stateChanged = false;
-        return random(200, 300);
+        int delay = runner.loop();
+        osdPainter.publishStats(client.currentTime());
+        return delay;
     }
 
-    public void setCurrentState(BotState newState) {
-        this.currentState = newState;
-        this.stateChanged = true;
-    }
-
-    public BotState pickRandomState(BotState excludeState) {
-        Random random = new Random();
-        List<Class<? extends BotState>> states = new ArrayList<>(stateMap.keySet());
-        BotState newState;
-        do {
-            Class<? extends BotState> stateClass = states.get(random.nextInt(states.size()));
-            newState = stateMap.get(stateClass);
-        } while (newState.equals(excludeState));
-        return newState;
+    @Override
+    public void onExit() {
+        if (runner != null) {
+            runner.stop();
+        }
+        if (client != null) {
+            for (Map.Entry<String, WaitHistogram> entry : client.getWaits().getHistograms().entrySet()) {
+                log("Wait " + entry.getKey() + ": " + entry.getValue());
+            }
+            client.release();
+        }
     }
 
     @Override
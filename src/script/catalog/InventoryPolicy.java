@@ -0,0 +1,8 @@
+package script.catalog;
+
+// What a training method does with what it gathers
+public enum InventoryPolicy {
+    DROP,        // Drop as it goes, nothing is kept
+    BANK,        // Walk to the nearest bank when full
+    DEPOSIT_BOX  // Use the method's deposit box when full
+}
@@ -0,0 +1,322 @@
+package script.catalog;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.client.AccountFiles;
+import script.client.GameClient;
+import script.client.SharedCache;
+import script.strategy.banking.SupplyBudget;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+// Training methods, tool tiers and goal levels for every skill, read once at start from the bundled training-methods.properties
+// and an optional file of the same name in the data directory that overrides single keys. Lookups by skill and
+// level go through per-level index tables, so picking a method or a tool is two array reads.
+public final class TrainingCatalog {
+    private static final String RESOURCE_NAME = "training-methods.properties";
+    private static final String METHOD_PREFIX = "method.";
+    private static final String TIERS_PREFIX = "tools.";
+    private static final String GOAL_PREFIX = "goal.";
+    private static final int MAX_LEVEL = 99;
+    private static final int SKILL_COUNT = Skill.values().length;
+
+    private final TrainingMethod[] methods; // Grouped by skill, lowest level first
+    private final byte[][] methodByLevel = new byte[SKILL_COUNT][];  // Index into methods, -1 below the first method
+    private final int[][] toolByLevel = new int[SKILL_COUNT][];      // Best tool id per level, -1 below the first tier
+    private final int[][] tierIds = new int[SKILL_COUNT][];
+    private final int[][] tierLevels = new int[SKILL_COUNT][];
+    private final int[] goalLevels;
+
+    private TrainingCatalog(List<TrainingMethod> methods, int[][] tierIds, int[][] tierLevels, int[] goalLevels) {
+        this.goalLevels = goalLevels;
+        methods.sort(Comparator.comparingInt((TrainingMethod method) -> method.getSkill().ordinal())
+                .thenComparingInt(TrainingMethod::getMinLevel));
+        this.methods = methods.toArray(new TrainingMethod[0]);
+        for (int i = 0; i < this.methods.length; i++) {
+            TrainingMethod method = this.methods[i];
+            byte[] table = methodByLevel[method.getSkill().ordinal()];
+            if (table == null) {
+                table = new byte[MAX_LEVEL + 1];
+                Arrays.fill(table, (byte) -1);
+                methodByLevel[method.getSkill().ordinal()] = table;
+            }
+            Arrays.fill(table, Math.max(0, Math.min(method.getMinLevel(), MAX_LEVEL)), table.length, (byte) i);
+        }
+        for (int skill = 0; skill < SKILL_COUNT; skill++) {
+            if (tierIds[skill] == null) {
+                continue;
+            }
+            int[] table = new int[MAX_LEVEL + 1];
+            Arrays.fill(table, -1);
+            for (int tier = 0; tier < tierIds[skill].length; tier++) {
+                Arrays.fill(table, Math.max(0, Math.min(tierLevels[skill][tier], MAX_LEVEL)), table.length, tierIds[skill][tier]);
+            }
+            toolByLevel[skill] = table;
+            this.tierIds[skill] = tierIds[skill];
+            this.tierLevels[skill] = tierLevels[skill];
+        }
+    }
+
+    public static TrainingCatalog load(GameClient client) {
+        Properties properties = new Properties();
+        try (InputStream in = TrainingCatalog.class.getResourceAsStream(RESOURCE_NAME)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource " + RESOURCE_NAME);
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + RESOURCE_NAME, e);
+        }
+        File overrides = overrideFileFor(client);
+        if (overrides != null && overrides.isFile()) {
+            try (InputStream in = new FileInputStream(overrides)) {
+                properties.load(in);
+                client.log("Loaded training method overrides from " + overrides);
+            } catch (IOException e) {
+                client.log("Could not read training method overrides: " + e.getMessage());
+            }
+        }
+        return parse(client, properties);
+    }
+
+    // The catalog is immutable, so script instances with the same data directory share one; release it on exit
+    public static TrainingCatalog acquireShared(GameClient client) {
+        return SharedCache.acquire("catalog", overrideFileFor(client), () -> load(client));
+    }
+
+    public static void releaseShared(GameClient client) {
+        SharedCache.release("catalog", overrideFileFor(client));
+    }
+
+    // Lets routes and thresholds be tuned without rebuilding the script
+    public static File overrideFileFor(GameClient client) {
+        return AccountFiles.shared(client, RESOURCE_NAME);
+    }
+
+    // Method for the level, or the skill's first method below its level; null when the skill has none
+    public TrainingMethod select(Skill skill, int level) {
+        byte[] table = methodByLevel[skill.ordinal()];
+        if (table == null) {
+            return null;
+        }
+        int index = table[clampLevel(level)];
+        return methods[index >= 0 ? index : firstIndex(skill)];
+    }
+
+    // The method that takes over from this one, or null for the last one
+    public TrainingMethod next(TrainingMethod method) {
+        for (int i = 0; i + 1 < methods.length; i++) {
+            if (methods[i] == method) {
+                return methods[i + 1].getSkill() == method.getSkill() ? methods[i + 1] : null;
+            }
+        }
+        return null;
+    }
+
+    public List<TrainingMethod> getMethods(Skill skill) {
+        List<TrainingMethod> skillMethods = new ArrayList<>();
+        for (TrainingMethod method : methods) {
+            if (method.getSkill() == skill) {
+                skillMethods.add(method);
+            }
+        }
+        return Collections.unmodifiableList(skillMethods);
+    }
+
+    // Best tool usable at the level, -1 when the skill has no tool tiers
+    public int getToolId(Skill skill, int level) {
+        int[] table = toolByLevel[skill.ordinal()];
+        if (table == null) {
+            return -1;
+        }
+        int toolId = table[clampLevel(level)];
+        return toolId >= 0 ? toolId : table[tierLevels[skill.ordinal()][0]];
+    }
+
+    // Whether the item is any of the skill's tool tiers, not only the best one for a level
+    public boolean isTool(Skill skill, int itemId) {
+        int[] ids = tierIds[skill.ordinal()];
+        if (ids == null) {
+            return false;
+        }
+        for (int id : ids) {
+            if (id == itemId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Levels at which a better tool can be used, lowest first
+    public int[] getToolLevels(Skill skill) {
+        int[] levels = tierLevels[skill.ordinal()];
+        return levels != null ? levels.clone() : new int[0];
+    }
+
+    // Level the account is trained to, 99 unless the catalog sets a goal
+    public int getGoalLevel(Skill skill) {
+        return goalLevels[skill.ordinal()];
+    }
+
+    // Whether the skill needs no more training: its goal level is reached or there is no method to train it with
+    public boolean isGoalReached(Skill skill, int level) {
+        return level >= goalLevels[skill.ordinal()] || methodByLevel[skill.ordinal()] == null;
+    }
+
+    private int firstIndex(Skill skill) {
+        for (int i = 0; i < methods.length; i++) {
+            if (methods[i].getSkill() == skill) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No training methods for " + skill);
+    }
+
+    private static int clampLevel(int level) {
+        return Math.max(0, Math.min(level, MAX_LEVEL));
+    }
+
+    // Bad entries are logged and skipped so one typo in an override does not stop the script
+    static TrainingCatalog parse(GameClient client, Properties properties) {
+        List<TrainingMethod> methods = new ArrayList<>();
+        int[][] tierIds = new int[SKILL_COUNT][];
+        int[][] tierLevels = new int[SKILL_COUNT][];
+        int[] goalLevels = new int[SKILL_COUNT];
+        Arrays.fill(goalLevels, MAX_LEVEL);
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                if (key.startsWith(METHOD_PREFIX) && key.endsWith(".skill")) {
+                    methods.add(parseMethod(properties, key.substring(METHOD_PREFIX.length(), key.length() - ".skill".length())));
+                } else if (key.startsWith(TIERS_PREFIX)) {
+                    Skill skill = Skill.valueOf(key.substring(TIERS_PREFIX.length()));
+                    int[][] tiers = parsePairs(properties.getProperty(key));
+                    tierIds[skill.ordinal()] = tiers[0];
+                    tierLevels[skill.ordinal()] = tiers[1];
+                } else if (key.startsWith(GOAL_PREFIX)) {
+                    Skill skill = Skill.valueOf(key.substring(GOAL_PREFIX.length()));
+                    goalLevels[skill.ordinal()] = clampLevel(Integer.parseInt(properties.getProperty(key).trim()));
+                }
+            } catch (IllegalArgumentException e) {
+                client.log("Skipping bad training catalog entry " + key + ": " + e.getMessage());
+            }
+        }
+        if (methods.size() > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many training methods: " + methods.size());
+        }
+        return new TrainingCatalog(methods, tierIds, tierLevels, goalLevels);
+    }
+
+    private static TrainingMethod parseMethod(Properties properties, String name) {
+        String prefix = METHOD_PREFIX + name + ".";
+        Skill skill = Skill.valueOf(required(properties, prefix + "skill"));
+        int expectedExpPerHour = Integer.parseInt(required(properties, prefix + "xph"));
+
+        String[] supplyEntries = split(properties.getProperty(prefix + "supplies", ""));
+        SupplyBudget[] supplies = new SupplyBudget[supplyEntries.length];
+        for (int i = 0; i < supplyEntries.length; i++) {
+            String[] pair = supplyEntries[i].split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("supply " + supplyEntries[i] + " is not itemId:itemsPerExp");
+            }
+            supplies[i] = new SupplyBudget(Integer.parseInt(pair[0]), Double.parseDouble(pair[1]), expectedExpPerHour);
+        }
+
+        String target = required(properties, prefix + "target");
+        int targetNpcId = -1;
+        String targetObjectName = null;
+        if (target.startsWith("npc:")) {
+            targetNpcId = Integer.parseInt(target.substring("npc:".length()));
+        } else if (target.startsWith("object:")) {
+            targetObjectName = target.substring("object:".length());
+        } else {
+            throw new IllegalArgumentException("target " + target + " is neither npc:<id> nor object:<name>");
+        }
+
+        InventoryPolicy policy = InventoryPolicy.valueOf(required(properties, prefix + "inventory"));
+        String deposit = properties.getProperty(prefix + "deposit");
+        if (policy == InventoryPolicy.DEPOSIT_BOX && deposit == null) {
+            throw new IllegalArgumentException("DEPOSIT_BOX needs a deposit area");
+        }
+        String safe = properties.getProperty(prefix + "safe");
+
+        return new TrainingMethod(name, skill, Integer.parseInt(required(properties, prefix + "level")),
+                parseIds(properties.getProperty(prefix + "tools", "")), supplies, targetNpcId, targetObjectName,
+                required(properties, prefix + "action"), Long.parseLong(properties.getProperty(prefix + "respawn", "0")),
+                parseArea(required(properties, prefix + "area")), policy,
+                parseIds(properties.getProperty(prefix + "products", "")),
+                deposit != null ? parseArea(deposit) : null, safe != null ? parsePosition(safe) : null, expectedExpPerHour);
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return value.trim();
+    }
+
+    private static String[] split(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s*,\\s*");
+    }
+
+    private static int[] parseIds(String value) {
+        String[] entries = split(value);
+        int[] ids = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            ids[i] = Integer.parseInt(entries[i]);
+        }
+        return ids;
+    }
+
+    // "id:level, id:level" into {ids, levels}, sorted by level
+    private static int[][] parsePairs(String value) {
+        String[] entries = split(value);
+        int[][] pairs = new int[entries.length][];
+        for (int i = 0; i < entries.length; i++) {
+            String[] pair = entries[i].split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("tier " + entries[i] + " is not itemId:level");
+            }
+            pairs[i] = new int[]{Integer.parseInt(pair[0]), Integer.parseInt(pair[1])};
+        }
+        if (pairs.length == 0) {
+            throw new IllegalArgumentException("no tiers");
+        }
+        Arrays.sort(pairs, Comparator.comparingInt(pair -> pair[1]));
+        int[][] result = new int[2][pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            result[0][i] = pairs[i][0];
+            result[1][i] = pairs[i][1];
+        }
+        return result;
+    }
+
+    // x1,y1,x2,y2 with an optional plane
+    private static Area parseArea(String value) {
+        int[] values = parseIds(value);
+        if (values.length != 4 && values.length != 5) {
+            throw new IllegalArgumentException("area " + value + " is not x1,y1,x2,y2[,plane]");
+        }
+        Area area = new Area(values[0], values[1], values[2], values[3]);
+        return values.length == 5 ? area.setPlane(values[4]) : area;
+    }
+
+    private static Position parsePosition(String value) {
+        int[] values = parseIds(value);
+        if (values.length != 3) {
+            throw new IllegalArgumentException("position " + value + " is not x,y,z");
+        }
+        return new Position(values[0], values[1], values[2]);
+    }
+}
@@ -0,0 +1,125 @@
+package script.catalog;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.strategy.banking.SupplyBudget;
+
+// One way of training a skill from the catalog: where it is done, what it clicks, what has to be carried and what
+// happens to a full inventory. Instances are immutable and shared by everything that trains with the method.
+public final class TrainingMethod {
+    private final String name;
+    private final Skill skill;
+    private final int minLevel;
+    private final int[] toolIds;
+    private final SupplyBudget[] supplies;
+    private final int targetNpcId;        // -1 when the target is an object
+    private final String targetObjectName; // null when the target is an NPC
+    private final String action;
+    private final long respawnMs;
+    private final Area area;
+    private final InventoryPolicy inventoryPolicy;
+    private final int[] productIds;
+    private final Area depositArea;
+    private final Position safePosition;
+    private final int expectedExpPerHour;
+
+    TrainingMethod(String name, Skill skill, int minLevel, int[] toolIds, SupplyBudget[] supplies, int targetNpcId,
+                   String targetObjectName, String action, long respawnMs, Area area, InventoryPolicy inventoryPolicy,
+                   int[] productIds, Area depositArea, Position safePosition, int expectedExpPerHour) {
+        this.name = name;
+        this.skill = skill;
+        this.minLevel = minLevel;
+        this.toolIds = toolIds;
+        this.supplies = supplies;
+        this.targetNpcId = targetNpcId;
+        this.targetObjectName = targetObjectName;
+        this.action = action;
+        this.respawnMs = respawnMs;
+        this.area = area;
+        this.inventoryPolicy = inventoryPolicy;
+        this.productIds = productIds;
+        this.depositArea = depositArea;
+        this.safePosition = safePosition;
+        this.expectedExpPerHour = expectedExpPerHour;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public int getMinLevel() {
+        return minLevel;
+    }
+
+    public int[] getToolIds() {
+        return toolIds.clone();
+    }
+
+    public SupplyBudget[] getSupplies() {
+        return supplies.clone();
+    }
+
+    // Tools followed by supplies, everything the method needs carried
+    public int[] getLoadoutIds() {
+        int[] ids = new int[toolIds.length + supplies.length];
+        System.arraycopy(toolIds, 0, ids, 0, toolIds.length);
+        for (int i = 0; i < supplies.length; i++) {
+            ids[toolIds.length + i] = supplies[i].getItemId();
+        }
+        return ids;
+    }
+
+    public int getTargetNpcId() {
+        return targetNpcId;
+    }
+
+    public String getTargetObjectName() {
+        return targetObjectName;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    // Initial respawn guess for object targets, refined while training
+    public long getRespawnMs() {
+        return respawnMs;
+    }
+
+    public Area getArea() {
+        return area;
+    }
+
+    public InventoryPolicy getInventoryPolicy() {
+        return inventoryPolicy;
+    }
+
+    // Items the method gathers; empty when everything but the loadout is dropped
+    public int[] getProductIds() {
+        return productIds.clone();
+    }
+
+    // Null unless the policy is DEPOSIT_BOX
+    public Area getDepositArea() {
+        return depositArea;
+    }
+
+    // Null when the method has nowhere to retreat to
+    public Position getSafePosition() {
+        return safePosition;
+    }
+
+    public int getExpectedExpPerHour() {
+        return expectedExpPerHour;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
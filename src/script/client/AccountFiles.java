@@ -0,0 +1,38 @@
+package script.client;
+
+import java.io.File;
+
+// Where the script keeps files between runs: one directory under the client's data directory, holding files shared by
+// every account and files named after the account they belong to
+public final class AccountFiles {
+    private static final String DIRECTORY_NAME = "AccountTrainer";
+
+    private AccountFiles() {
+    }
+
+    // File shared by every account, or null when there is nowhere to keep it
+    public static File shared(GameClient client, String fileName) {
+        String dataDirectory = client.getDataDirectory();
+        return dataDirectory != null ? new File(new File(dataDirectory, DIRECTORY_NAME), fileName) : null;
+    }
+
+    // <prefix><account><suffix> for the logged in account, or null when there is nowhere to keep it or no one is
+    // logged in
+    public static File forAccount(GameClient client, String prefix, String suffix) {
+        String accountName = client.getPlayer().getName();
+        if (accountName == null || accountName.isEmpty()) {
+            return null;
+        }
+        return shared(client, prefix + accountName.toLowerCase().replaceAll("[^a-z0-9]", "_") + suffix);
+    }
+
+    // Creates the file's directory if needed; false, after logging why, when it cannot be created
+    public static boolean ensureDirectory(GameClient client, File file) {
+        File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            client.log("Could not create " + directory);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package script.client;
+
+import script.world.IntIntMap;
+
+public interface ClientBank {
+    boolean isOpen();
+    boolean open() throws InterruptedException;
+    boolean close();
+
+    boolean contains(int itemId);
+    int getAmount(int itemId);
+    String getItemName(int itemId);
+
+    // Replaces the map's contents with every banked item id and its amount
+    void readItems(IntIntMap contents);
+
+    boolean depositAll();
+    boolean depositAll(int itemId);
+    boolean depositWornItems();
+    boolean withdraw(int itemId, int amount);
+}
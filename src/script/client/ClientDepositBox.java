@@ -0,0 +1,8 @@
+package script.client;
+
+public interface ClientDepositBox {
+    boolean isOpen();
+    boolean open();
+    boolean close();
+    boolean depositAllExcept(int... itemIds);
+}
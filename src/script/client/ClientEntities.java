@@ -0,0 +1,18 @@
+package script.client;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+
+import java.util.List;
+
+public interface ClientEntities {
+    GameEntity closestNpc(int npcId);
+    GameEntity closestNpc(int npcId, Position excluded); // Skips the NPC standing on excluded, which may be null
+    GameEntity closestObject(String name);
+    GameEntity closestObject(Area area, String name);
+
+    // Looks at a single tile instead of every loaded object
+    GameEntity objectAt(Position position, String name);
+    void readObjectPositions(Area area, String name, List<Position> positions);
+    int countOtherPlayersNear(Position position, int distance);
+}
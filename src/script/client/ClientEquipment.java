@@ -0,0 +1,11 @@
+package script.client;
+
+public interface ClientEquipment {
+    int SIZE = 14;
+
+    // Fills the array with equipped item IDs and returns how many were written
+    int readItemIds(int[] ids);
+
+    boolean contains(int itemId);
+    boolean isEmpty();
+}
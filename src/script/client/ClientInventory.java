@@ -0,0 +1,23 @@
+package script.client;
+
+public interface ClientInventory {
+    int SIZE = 28;
+
+    // Fills slot-indexed arrays (id -1 for empty slots) and returns the number of used slots
+    int readItems(int[] ids, int[] amounts);
+
+    boolean contains(int itemId);
+    int getAmount(int itemId);
+    boolean isFull();
+    boolean isEmpty();
+    int getEmptySlots();
+
+    String getItemName(int itemId);
+    boolean hasAction(int itemId, String action);
+    boolean interact(int itemId, String action);
+
+    boolean dropAll(int... itemIds);
+    boolean dropAllExcept(int... itemIds);
+    // Drops the item in one slot, for strategies that choose the order or drop a few at a time
+    boolean dropSlot(int slot);
+}
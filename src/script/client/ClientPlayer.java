@@ -0,0 +1,13 @@
+package script.client;
+
+import org.osbot.rs07.api.map.Position;
+
+public interface ClientPlayer {
+    String getName();
+    Position getPosition();
+    int getAnimation();
+    boolean isAnimating();
+    boolean isMoving();
+    boolean isInteracting();
+    boolean isUnderAttack();
+}
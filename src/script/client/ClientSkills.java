@@ -0,0 +1,10 @@
+package script.client;
+
+import org.osbot.rs07.api.ui.Skill;
+
+public interface ClientSkills {
+    int getStatic(Skill skill);
+    int getDynamic(Skill skill);
+    int getExperience(Skill skill);
+    int getExperienceForLevel(int level);
+}
@@ -0,0 +1,18 @@
+package script.client;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+
+import java.util.List;
+
+public interface ClientWalking {
+    boolean webWalk(Area... areas);
+    boolean webWalk(Position position);
+
+    // Same as webWalk, adding the tiles the player passes through to trail
+    boolean webWalk(WalkedTrail trail, Area area);
+    boolean webWalk(WalkedTrail trail, Position position);
+
+    // Follows the waypoints with local steps only, no web path search; false once a step cannot be taken
+    boolean walkPath(List<Position> path);
+}
@@ -0,0 +1,32 @@
+package script.client;
+
+import script.scheduler.WaitEngine;
+
+// Everything the states and strategies need from the game, so they can run against OSBot or the simulator
+public interface GameClient {
+    ClientInventory getInventory();
+    ClientEquipment getEquipment();
+    ClientBank getBank();
+    ClientDepositBox getDepositBox();
+    ClientSkills getSkills();
+    ClientPlayer getPlayer();
+    ClientEntities getEntities();
+    ClientWalking getWalking();
+    // Routes the walking has learned, shared with other script instances using the same data directory
+    RouteCache getRouteCache();
+
+    long currentTime();
+
+    // Directory for files kept between runs, or null to keep nothing on disk
+    String getDataDirectory();
+
+    // Uniform random number between min and max inclusive, seeded in the simulator
+    int random(int min, int max);
+    void sleep(long millis) throws InterruptedException;
+
+    // Tick-aligned waits on reusable conditions
+    WaitEngine getWaits();
+
+    void log(String message);
+    void logOutAndStop();
+}
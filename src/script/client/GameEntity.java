@@ -0,0 +1,11 @@
+package script.client;
+
+import org.osbot.rs07.api.map.Position;
+
+public interface GameEntity {
+    int getId();
+    Position getPosition();
+    boolean exists();
+    boolean interact(String action);
+    boolean hover();
+}
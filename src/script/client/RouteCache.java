@@ -0,0 +1,198 @@
+package script.client;
+
+import org.osbot.rs07.api.map.Position;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// Paths the web walker found before, keyed by start region and destination. The least recently used route is
+// dropped once the cache is full. Routes are saved so a fresh run does not have to find them all again. Script
+// instances in the same JVM share one cache, so every method locks it, though saving does its disk write outside.
+public class RouteCache {
+    private static final int CAPACITY = 64;
+
+    private final Map<String, List<Position>> routes = new LinkedHashMap<String, List<Position>>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<Position>> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    private final File file;
+    private boolean dirty;
+    private boolean saving;
+    private int version; // Bumped whenever a route is added or dropped
+
+    public RouteCache(File file) {
+        this.file = file;
+    }
+
+    // Routes do not depend on the account, so every account shares one file
+    public static File fileFor(GameClient client) {
+        return AccountFiles.shared(client, "routes.properties");
+    }
+
+    // One cache per routes file for every script instance in the JVM; release it when the instance stops
+    public static RouteCache acquireShared(GameClient client) {
+        File file = fileFor(client);
+        return SharedCache.acquire("routes", file, () -> {
+            RouteCache routeCache = new RouteCache(file);
+            routeCache.load(client);
+            return routeCache;
+        });
+    }
+
+    public static void releaseShared(GameClient client) {
+        SharedCache.release("routes", fileFor(client));
+    }
+
+    // Game region id (64x64 tiles) with the plane on top
+    public static int regionKey(Position position) {
+        return (position.getZ() << 16) | ((position.getX() >> 6) << 8) | (position.getY() >> 6);
+    }
+
+    // Key of the route from the start's region to a destination
+    public static String routeKey(Position start, String destinationKey) {
+        return regionKey(start) + ">" + destinationKey;
+    }
+
+    // Destination key of the area with these bounds
+    public static String areaKey(int minX, int minY, int maxX, int maxY, int plane) {
+        return "area:" + minX + "," + minY + "," + maxX + "," + maxY + "," + plane;
+    }
+
+    public synchronized List<Position> get(String key) {
+        return routes.get(key);
+    }
+
+    // Tiles walked along the route, or -1 when it is not cached
+    public synchronized int getLength(String key) {
+        List<Position> route = routes.get(key);
+        if (route == null) {
+            return -1;
+        }
+        int length = 0;
+        for (int i = 1; i < route.size(); i++) {
+            Position a = route.get(i - 1);
+            Position b = route.get(i);
+            length += Math.max(Math.abs(a.getX() - b.getX()), Math.abs(a.getY() - b.getY()));
+        }
+        return length;
+    }
+
+    public synchronized void put(String key, List<Position> route) {
+        routes.put(key, route);
+        dirty = true;
+        version++;
+    }
+
+    public synchronized void remove(String key) {
+        if (routes.remove(key) != null) {
+            dirty = true;
+            version++;
+        }
+    }
+
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    public synchronized int size() {
+        return routes.size();
+    }
+
+    public synchronized void load(GameClient client) {
+        if (file == null || !file.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            client.log("Could not read route cache: " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            List<Position> route = parseRoute(properties.getProperty(key));
+            if (route != null) {
+                routes.put(key, route);
+            } else {
+                client.log("Skipping bad route cache entry " + key);
+            }
+        }
+        dirty = false;
+        version++;
+    }
+
+    // Writes the routes outside the lock so other instances keep walking while the disk is slow. A save that finds
+    // another one under way leaves it to that one; routes added since stay dirty for the next save.
+    public void save(GameClient client) {
+        if (file == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        synchronized (this) {
+            if (!dirty || saving) {
+                return;
+            }
+            StringBuilder value = new StringBuilder();
+            for (Map.Entry<String, List<Position>> entry : routes.entrySet()) {
+                value.setLength(0);
+                for (Position position : entry.getValue()) {
+                    if (value.length() > 0) {
+                        value.append(' ');
+                    }
+                    value.append(position.getX()).append(',').append(position.getY()).append(',').append(position.getZ());
+                }
+                properties.setProperty(entry.getKey(), value.toString());
+            }
+            dirty = false;
+            saving = true;
+        }
+        boolean written = write(client, properties);
+        synchronized (this) {
+            saving = false;
+            if (!written) {
+                dirty = true;
+            }
+        }
+    }
+
+    private boolean write(GameClient client, Properties properties) {
+        if (!AccountFiles.ensureDirectory(client, file)) {
+            return false;
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Walked routes: region>destination = x,y,z waypoints");
+            return true;
+        } catch (IOException e) {
+            client.log("Could not write route cache: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static List<Position> parseRoute(String value) {
+        String[] waypoints = value.trim().split(" ");
+        List<Position> route = new ArrayList<>(waypoints.length);
+        try {
+            for (String waypoint : waypoints) {
+                String[] coordinates = waypoint.split(",");
+                if (coordinates.length != 3) {
+                    return null;
+                }
+                route.add(new Position(Integer.parseInt(coordinates[0]), Integer.parseInt(coordinates[1]), Integer.parseInt(coordinates[2])));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return route.isEmpty() ? null : route;
+    }
+}
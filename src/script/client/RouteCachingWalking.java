@@ -0,0 +1,187 @@
+package script.client;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Web walks once per start region and destination, then replays the walked route with local steps.
+// The route is checked after every few waypoints and only a route that stops getting there is web walked again.
+public class RouteCachingWalking implements ClientWalking {
+    private static final int WAYPOINT_SPACING = 6;   // Tiles between stored waypoints, well inside one minimap click
+    private static final int SEGMENT_WAYPOINTS = 5;  // Waypoints walked before checking the player kept up
+    private static final int MAX_JOIN_DISTANCE = 8;  // How far off a waypoint the player may be and still follow the route
+    private static final int MAX_TRAIL_STEP = 10;    // Longer jumps are stairs, ladders or boats local steps cannot repeat
+    private static final int POSITION_ARRIVAL_DISTANCE = 2;
+
+    private final GameClient client;
+    private final ClientWalking walking;
+    private final RouteCache routeCache;
+    private final Map<Area, String> areaKeys = new IdentityHashMap<>(); // Destinations are constants, so this stays small
+    private final WalkedTrail trail = new WalkedTrail();
+
+    public RouteCachingWalking(GameClient client, ClientWalking walking, RouteCache routeCache) {
+        this.client = client;
+        this.walking = walking;
+        this.routeCache = routeCache;
+    }
+
+    @Override
+    public boolean webWalk(Area... areas) {
+        if (areas.length != 1) {
+            return walking.webWalk(areas);
+        }
+        Area area = areas[0];
+        return walk(getAreaKey(area), area::contains, trail -> walking.webWalk(trail, area));
+    }
+
+    @Override
+    public boolean webWalk(Position position) {
+        String destinationKey = "position:" + position.getX() + "," + position.getY() + "," + position.getZ();
+        return walk(destinationKey, current -> isNear(current, position), trail -> walking.webWalk(trail, position));
+    }
+
+    @Override
+    public boolean webWalk(WalkedTrail trail, Area area) {
+        return walking.webWalk(trail, area);
+    }
+
+    @Override
+    public boolean webWalk(WalkedTrail trail, Position position) {
+        return walking.webWalk(trail, position);
+    }
+
+    @Override
+    public boolean walkPath(List<Position> path) {
+        return walking.walkPath(path);
+    }
+
+    private boolean walk(String destinationKey, Predicate<Position> arrived, Predicate<WalkedTrail> webWalk) {
+        Position start = client.getPlayer().getPosition();
+        if (start == null) {
+            trail.clear();
+            return webWalk.test(trail);
+        }
+        if (arrived.test(start)) {
+            return true;
+        }
+        String routeKey = RouteCache.routeKey(start, destinationKey);
+        List<Position> route = routeCache.get(routeKey);
+        if (route != null) {
+            if (replay(route, start) && hasArrived(arrived)) {
+                return true;
+            }
+            client.log("Cached route " + routeKey + " did not get there, web walking");
+            routeCache.remove(routeKey);
+        }
+
+        trail.clear();
+        // A replay that stopped part way left the player off the start
+        Position current = client.getPlayer().getPosition();
+        trail.add(current != null ? current : start);
+        if (!webWalk.test(trail)) {
+            return false;
+        }
+        List<Position> walkedRoute = toRoute(trail);
+        if (walkedRoute != null && hasArrived(arrived)) {
+            routeCache.put(routeKey, walkedRoute);
+            routeCache.save(client);
+        }
+        return true;
+    }
+
+    // Joins the route at the closest waypoint and walks it a segment at a time
+    private boolean replay(List<Position> route, Position start) {
+        int joinIndex = -1;
+        int joinDistance = MAX_JOIN_DISTANCE + 1;
+        for (int i = 0; i < route.size(); i++) {
+            int distance = distance(start, route.get(i));
+            if (distance < joinDistance) {
+                joinIndex = i;
+                joinDistance = distance;
+            }
+        }
+        if (joinIndex < 0) {
+            return false;
+        }
+        for (int from = joinIndex; from < route.size(); from += SEGMENT_WAYPOINTS) {
+            List<Position> segment = route.subList(from, Math.min(from + SEGMENT_WAYPOINTS, route.size()));
+            if (!walking.walkPath(segment)) {
+                return false;
+            }
+            Position current = client.getPlayer().getPosition();
+            if (current == null || distance(current, segment.get(segment.size() - 1)) > MAX_JOIN_DISTANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The position is null while the client is between states, e.g. logged out, which never counts as arrived
+    private boolean hasArrived(Predicate<Position> arrived) {
+        Position current = client.getPlayer().getPosition();
+        return current != null && arrived.test(current);
+    }
+
+    // Thins the walked tiles down to waypoints, or null when the walk used something local steps cannot repeat: a door
+    // or gate, or a jump such as stairs, ladders or boats
+    private static List<Position> toRoute(WalkedTrail trail) {
+        if (trail.crossedObstacle()) {
+            return null;
+        }
+        List<Position> positions = trail.getPositions();
+        List<Position> route = new ArrayList<>();
+        Position previous = positions.get(0);
+        Position lastWaypoint = previous;
+        route.add(previous);
+        for (Position position : positions) {
+            if (distance(previous, position) > MAX_TRAIL_STEP) {
+                return null;
+            }
+            if (distance(lastWaypoint, position) >= WAYPOINT_SPACING) {
+                route.add(position);
+                lastWaypoint = position;
+            }
+            previous = position;
+        }
+        if (lastWaypoint != previous) {
+            route.add(previous);
+        }
+        return route.size() > 1 ? route : null;
+    }
+
+    private String getAreaKey(Area area) {
+        String key = areaKeys.get(area);
+        if (key == null) {
+            int minX = Integer.MAX_VALUE;
+            int minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE;
+            int maxY = Integer.MIN_VALUE;
+            for (Position position : area.getPositions()) {
+                minX = Math.min(minX, position.getX());
+                minY = Math.min(minY, position.getY());
+                maxX = Math.max(maxX, position.getX());
+                maxY = Math.max(maxY, position.getY());
+            }
+            key = RouteCache.areaKey(minX, minY, maxX, maxY, area.getPlane());
+            areaKeys.put(area, key);
+        }
+        return key;
+    }
+
+    private static boolean isNear(Position current, Position destination) {
+        return distance(current, destination) <= POSITION_ARRIVAL_DISTANCE;
+    }
+
+    // Chebyshev distance, with a change of plane counting as unreachable
+    private static int distance(Position a, Position b) {
+        if (a.getZ() != b.getZ()) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(Math.abs(a.getX() - b.getX()), Math.abs(a.getY() - b.getY()));
+    }
+}
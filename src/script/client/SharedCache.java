@@ -0,0 +1,81 @@
+package script.client;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Data every script instance in the JVM can use, such as the training catalog and the walked routes, keyed by what it
+// is and the file under AccountFiles it is loaded from. The first instance to ask for a key builds the value and later
+// ones get the same object; it is dropped once the last instance holding it releases it, so clients left running do
+// not keep what stopped ones loaded. Each instance loops on its own thread, so values must be immutable or thread-safe.
+public final class SharedCache {
+    private static final class Entry {
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        private int references;
+    }
+
+    private static final Map<String, Entry> ENTRIES = new HashMap<>();
+
+    private SharedCache() {
+    }
+
+    // Every acquire must be paired with a release of the same kind and file. file may be null when nothing is kept on
+    // disk, and the value is then shared by every instance without a data directory.
+    @SuppressWarnings("unchecked")
+    public static <T> T acquire(String kind, File file, Supplier<T> loader) {
+        String key = keyFor(kind, file);
+        Entry entry;
+        boolean loading = false;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                ENTRIES.put(key, entry);
+                loading = true;
+            }
+            entry.references++;
+        }
+        if (loading) {
+            // Loaded outside the lock, so a slow disk only holds up the instances waiting for this value
+            try {
+                entry.value.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                entry.value.completeExceptionally(e);
+            }
+        }
+        try {
+            return (T) entry.value.join();
+        } catch (CompletionException e) {
+            // Dropped so the next instance to ask tries loading again
+            synchronized (ENTRIES) {
+                entry.references--;
+                ENTRIES.remove(key, entry);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    public static void release(String kind, File file) {
+        String key = keyFor(kind, file);
+        synchronized (ENTRIES) {
+            Entry entry = ENTRIES.get(key);
+            if (entry != null && --entry.references <= 0) {
+                ENTRIES.remove(key);
+            }
+        }
+    }
+
+    private static String keyFor(String kind, File file) {
+        return file != null ? kind + ":" + file.getAbsolutePath() : kind;
+    }
+}
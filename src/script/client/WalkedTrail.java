@@ -0,0 +1,43 @@
+package script.client;
+
+import org.osbot.rs07.api.map.Position;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Tiles the player passed through on a web walk, and whether the walk went through a door or gate on the way. Local
+// steps cannot open those, so such a walk is not worth replaying.
+public final class WalkedTrail {
+    private final List<Position> positions = new ArrayList<>();
+    private boolean crossedObstacle;
+
+    // Skips a position that repeats the last one
+    public void add(Position position) {
+        if (positions.isEmpty() || !position.equals(getLast())) {
+            positions.add(position);
+        }
+    }
+
+    // Null until a position is added
+    public Position getLast() {
+        return positions.isEmpty() ? null : positions.get(positions.size() - 1);
+    }
+
+    public List<Position> getPositions() {
+        return Collections.unmodifiableList(positions);
+    }
+
+    public void markObstacle() {
+        crossedObstacle = true;
+    }
+
+    public boolean crossedObstacle() {
+        return crossedObstacle;
+    }
+
+    public void clear() {
+        positions.clear();
+        crossedObstacle = false;
+    }
+}
@@ -0,0 +1,38 @@
+package script.client.osbot;
+
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.model.Entity;
+import script.client.GameEntity;
+
+class OsbotEntity implements GameEntity {
+    private final Entity entity;
+
+    OsbotEntity(Entity entity) {
+        this.entity = entity;
+    }
+
+    @Override
+    public int getId() {
+        return entity.getId();
+    }
+
+    @Override
+    public Position getPosition() {
+        return entity.getPosition();
+    }
+
+    @Override
+    public boolean exists() {
+        return entity.exists();
+    }
+
+    @Override
+    public boolean interact(String action) {
+        return entity.interact(action);
+    }
+
+    @Override
+    public boolean hover() {
+        return entity.hover();
+    }
+}
@@ -0,0 +1,528 @@
+package script.client.osbot;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.model.Item;
+import org.osbot.rs07.api.model.NPC;
+import org.osbot.rs07.api.model.Player;
+import org.osbot.rs07.api.model.RS2Object;
+import org.osbot.rs07.api.ui.Skill;
+import org.osbot.rs07.event.WebWalkEvent;
+import org.osbot.rs07.script.MethodProvider;
+import org.osbot.rs07.script.Script;
+import org.osbot.rs07.utility.Condition;
+import script.client.*;
+import script.scheduler.TickClock;
+import script.scheduler.WaitEngine;
+import script.world.IntIntMap;
+
+import java.util.List;
+
+// GameClient backed by the live OSBot API
+public class OsbotGameClient implements GameClient {
+    private final Script script;
+    private final ClientInventory inventory = new OsbotInventory();
+    private final ClientEquipment equipment = new OsbotEquipment();
+    private final ClientBank bank = new OsbotBank();
+    private final ClientDepositBox depositBox = new OsbotDepositBox();
+    private final ClientSkills skills = new OsbotSkills();
+    private final ClientPlayer player = new OsbotPlayer();
+    private final ClientEntities entities = new OsbotEntities();
+    private final RouteCache routeCache;
+    private final ClientWalking walking;
+    private final WaitEngine waits;
+
+    public OsbotGameClient(Script script) {
+        this.script = script;
+        this.waits = new WaitEngine(this, new TickClock(currentTime()));
+        this.routeCache = RouteCache.acquireShared(this);
+        this.walking = new RouteCachingWalking(this, new OsbotWalking(), routeCache);
+    }
+
+    // Lets go of the data shared with other script instances; the client is not used afterwards
+    public void release() {
+        RouteCache.releaseShared(this);
+    }
+
+    public Script getScript() {
+        return script;
+    }
+
+    @Override
+    public ClientInventory getInventory() {
+        return inventory;
+    }
+
+    @Override
+    public ClientEquipment getEquipment() {
+        return equipment;
+    }
+
+    @Override
+    public ClientBank getBank() {
+        return bank;
+    }
+
+    @Override
+    public ClientDepositBox getDepositBox() {
+        return depositBox;
+    }
+
+    @Override
+    public ClientSkills getSkills() {
+        return skills;
+    }
+
+    @Override
+    public ClientPlayer getPlayer() {
+        return player;
+    }
+
+    @Override
+    public ClientEntities getEntities() {
+        return entities;
+    }
+
+    @Override
+    public ClientWalking getWalking() {
+        return walking;
+    }
+
+    @Override
+    public RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    @Override
+    public long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public String getDataDirectory() {
+        return script.getDirectoryData();
+    }
+
+    @Override
+    public int random(int min, int max) {
+        return MethodProvider.random(min, max);
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        MethodProvider.sleep(millis);
+    }
+
+    @Override
+    public WaitEngine getWaits() {
+        return waits;
+    }
+
+    @Override
+    public void log(String message) {
+        script.log(message);
+    }
+
+    @Override
+    public void logOutAndStop() {
+        script.getLogoutTab().logOut();
+        script.stop();
+    }
+
+    private static int readItems(Item[] items, int[] ids, int[] amounts) {
+        int used = 0;
+        for (int slot = 0; slot < ids.length; slot++) {
+            Item item = slot < items.length ? items[slot] : null;
+            if (item != null) {
+                ids[slot] = item.getId();
+                amounts[slot] = item.getAmount();
+                used++;
+            } else {
+                ids[slot] = -1;
+                amounts[slot] = 0;
+            }
+        }
+        return used;
+    }
+
+    private class OsbotInventory implements ClientInventory {
+        @Override
+        public int readItems(int[] ids, int[] amounts) {
+            return OsbotGameClient.readItems(script.getInventory().getItems(), ids, amounts);
+        }
+
+        @Override
+        public boolean contains(int itemId) {
+            return script.getInventory().contains(itemId);
+        }
+
+        @Override
+        public int getAmount(int itemId) {
+            return (int) script.getInventory().getAmount(itemId);
+        }
+
+        @Override
+        public boolean isFull() {
+            return script.getInventory().isFull();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return script.getInventory().isEmpty();
+        }
+
+        @Override
+        public int getEmptySlots() {
+            return script.getInventory().getEmptySlots();
+        }
+
+        @Override
+        public String getItemName(int itemId) {
+            Item item = script.getInventory().getItem(itemId);
+            return item != null ? item.getName() : null;
+        }
+
+        @Override
+        public boolean hasAction(int itemId, String action) {
+            Item item = script.getInventory().getItem(itemId);
+            return item != null && item.hasAction(action);
+        }
+
+        @Override
+        public boolean interact(int itemId, String action) {
+            Item item = script.getInventory().getItem(itemId);
+            return item != null && item.interact(action);
+        }
+
+        @Override
+        public boolean dropAll(int... itemIds) {
+            return script.getInventory().dropAll(itemIds);
+        }
+
+        @Override
+        public boolean dropAllExcept(int... itemIds) {
+            return script.getInventory().dropAllExcept(itemIds);
+        }
+
+        @Override
+        public boolean dropSlot(int slot) {
+            return script.getInventory().interact(slot, "Drop");
+        }
+    }
+
+    private class OsbotEquipment implements ClientEquipment {
+        @Override
+        public int readItemIds(int[] ids) {
+            int count = 0;
+            for (Item item : script.getEquipment().getItems()) {
+                if (item != null && count < ids.length) {
+                    ids[count++] = item.getId();
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean contains(int itemId) {
+            return script.getEquipment().contains(itemId);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return script.getEquipment().isEmpty();
+        }
+    }
+
+    private class OsbotBank implements ClientBank {
+        @Override
+        public boolean isOpen() {
+            return script.getBank().isOpen();
+        }
+
+        @Override
+        public boolean open() throws InterruptedException {
+            return script.getBank().open();
+        }
+
+        @Override
+        public boolean close() {
+            return script.getBank().close();
+        }
+
+        @Override
+        public boolean contains(int itemId) {
+            return script.getBank().contains(itemId);
+        }
+
+        @Override
+        public int getAmount(int itemId) {
+            return (int) script.getBank().getAmount(itemId);
+        }
+
+        @Override
+        public String getItemName(int itemId) {
+            Item item = script.getBank().getItem(itemId);
+            return item != null ? item.getName() : null;
+        }
+
+        @Override
+        public void readItems(IntIntMap contents) {
+            contents.clear();
+            Item[] items = script.getBank().getItems();
+            if (items == null) {
+                return;
+            }
+            for (Item item : items) {
+                if (item != null) {
+                    contents.add(item.getId(), item.getAmount());
+                }
+            }
+        }
+
+        @Override
+        public boolean depositAll() {
+            return script.getBank().depositAll();
+        }
+
+        @Override
+        public boolean depositAll(int itemId) {
+            return script.getBank().depositAll(itemId);
+        }
+
+        @Override
+        public boolean depositWornItems() {
+            return script.getBank().depositWornItems();
+        }
+
+        @Override
+        public boolean withdraw(int itemId, int amount) {
+            return script.getBank().withdraw(itemId, amount);
+        }
+    }
+
+    private class OsbotDepositBox implements ClientDepositBox {
+        @Override
+        public boolean isOpen() {
+            return script.getDepositBox().isOpen();
+        }
+
+        @Override
+        public boolean open() {
+            return script.getDepositBox().open();
+        }
+
+        @Override
+        public boolean close() {
+            return script.getDepositBox().close();
+        }
+
+        @Override
+        public boolean depositAllExcept(int... itemIds) {
+            return script.getDepositBox().depositAllExcept(itemIds);
+        }
+    }
+
+    private class OsbotSkills implements ClientSkills {
+        @Override
+        public int getStatic(Skill skill) {
+            return script.getSkills().getStatic(skill);
+        }
+
+        @Override
+        public int getDynamic(Skill skill) {
+            return script.getSkills().getDynamic(skill);
+        }
+
+        @Override
+        public int getExperience(Skill skill) {
+            return script.getSkills().getExperience(skill);
+        }
+
+        @Override
+        public int getExperienceForLevel(int level) {
+            return script.getSkills().getExperienceForLevel(level);
+        }
+    }
+
+    // myPlayer() is null until the client is logged in, e.g. when the script is started from the login screen
+    private class OsbotPlayer implements ClientPlayer {
+        @Override
+        public String getName() {
+            Player player = script.myPlayer();
+            return player != null ? player.getName() : null;
+        }
+
+        @Override
+        public Position getPosition() {
+            Player player = script.myPlayer();
+            return player != null ? player.getPosition() : null;
+        }
+
+        @Override
+        public int getAnimation() {
+            Player player = script.myPlayer();
+            return player != null ? player.getAnimation() : -1;
+        }
+
+        @Override
+        public boolean isAnimating() {
+            Player player = script.myPlayer();
+            return player != null && player.isAnimating();
+        }
+
+        @Override
+        public boolean isMoving() {
+            Player player = script.myPlayer();
+            return player != null && player.isMoving();
+        }
+
+        @Override
+        public boolean isInteracting() {
+            Player player = script.myPlayer();
+            return player != null && player.getInteracting() != null;
+        }
+
+        @Override
+        public boolean isUnderAttack() {
+            Player player = script.myPlayer();
+            return player != null && player.isUnderAttack();
+        }
+    }
+
+    private class OsbotEntities implements ClientEntities {
+        @Override
+        public GameEntity closestNpc(int npcId) {
+            NPC npc = script.getNpcs().closest(npcId);
+            return npc != null ? new OsbotEntity(npc) : null;
+        }
+
+        @Override
+        public GameEntity closestNpc(int npcId, Position excluded) {
+            if (excluded == null) {
+                return closestNpc(npcId);
+            }
+            NPC npc = script.getNpcs().closest(candidate -> candidate.getId() == npcId && !excluded.equals(candidate.getPosition()));
+            return npc != null ? new OsbotEntity(npc) : null;
+        }
+
+        @Override
+        public GameEntity closestObject(String name) {
+            RS2Object object = script.getObjects().closest(name);
+            return object != null ? new OsbotEntity(object) : null;
+        }
+
+        @Override
+        public GameEntity closestObject(Area area, String name) {
+            RS2Object object = script.getObjects().closest(area, name);
+            return object != null ? new OsbotEntity(object) : null;
+        }
+
+        @Override
+        public GameEntity objectAt(Position position, String name) {
+            for (RS2Object object : script.getObjects().get(position.getX(), position.getY())) {
+                if (object != null && object.getZ() == position.getZ() && name.equals(object.getName())) {
+                    return new OsbotEntity(object);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void readObjectPositions(Area area, String name, List<Position> positions) {
+            positions.clear();
+            for (RS2Object object : script.getObjects().getAll()) {
+                if (object != null && name.equals(object.getName()) && area.contains(object.getPosition())) {
+                    positions.add(object.getPosition());
+                }
+            }
+        }
+
+        @Override
+        public int countOtherPlayersNear(Position position, int distance) {
+            Player me = script.myPlayer();
+            int count = 0;
+            for (Player player : script.getPlayers().getAll()) {
+                if (player != null && player != me && player.getZ() == position.getZ() && position.distance(player.getPosition()) <= distance) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private class OsbotWalking implements ClientWalking {
+        private static final int MAX_OBSTACLE_CHECK_STEPS = 4;
+
+        @Override
+        public boolean webWalk(Area... areas) {
+            return script.getWalking().webWalk(areas);
+        }
+
+        @Override
+        public boolean webWalk(Position position) {
+            return script.getWalking().webWalk(position);
+        }
+
+        @Override
+        public boolean webWalk(WalkedTrail trail, Area area) {
+            return executeRecorded(new WebWalkEvent(area), trail);
+        }
+
+        @Override
+        public boolean webWalk(WalkedTrail trail, Position position) {
+            return executeRecorded(new WebWalkEvent(position), trail);
+        }
+
+        @Override
+        public boolean walkPath(List<Position> path) {
+            return script.getWalking().walkPath(path);
+        }
+
+        // The break condition is polled all through the walk, which makes it a cheap place to sample the position and
+        // look for doors and gates on the tiles passed since the last sample
+        private boolean executeRecorded(WebWalkEvent event, WalkedTrail trail) {
+            event.setBreakCondition(new Condition() {
+                @Override
+                public boolean evaluate() {
+                    Position position = script.myPosition();
+                    Position previous = trail.getLast();
+                    if (position != null && !position.equals(previous)) {
+                        if (previous != null && !trail.crossedObstacle() && crossesObstacle(previous, position)) {
+                            trail.markObstacle();
+                        }
+                        trail.add(position);
+                    }
+                    return false;
+                }
+            });
+            return script.execute(event).hasFinished();
+        }
+
+        // Checks the tiles on the straight line from one sample to the next; longer jumps are rejected by the route
+        // cache anyway
+        private boolean crossesObstacle(Position from, Position to) {
+            int steps = Math.max(Math.abs(to.getX() - from.getX()), Math.abs(to.getY() - from.getY()));
+            if (to.getZ() != from.getZ() || steps > MAX_OBSTACLE_CHECK_STEPS) {
+                return false;
+            }
+            for (int i = 1; i <= steps; i++) {
+                int x = from.getX() + (to.getX() - from.getX()) * i / steps;
+                int y = from.getY() + (to.getY() - from.getY()) * i / steps;
+                for (RS2Object object : script.getObjects().get(x, y)) {
+                    if (object != null && object.getZ() == to.getZ() && isObstacle(object.getName())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean isObstacle(String name) {
+            if (name == null) {
+                return false;
+            }
+            String lowerName = name.toLowerCase();
+            return lowerName.contains("door") || lowerName.contains("gate");
+        }
+    }
+}
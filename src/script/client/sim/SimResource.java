@@ -0,0 +1,185 @@
+package script.client.sim;
+
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+
+// A tree or fishing spot in the simulated world
+public class SimResource {
+    private final int id;
+    private final String name;
+    private final boolean npc;
+    private final String action;
+    private final Skill skill;
+    private final int productId;
+    private final int expTenths;
+    private final double lowChance;  // Success chance per tick at level 1
+    private final double highChance; // Success chance per tick at level 99
+    private final int[] toolIds;     // Any one of these must be carried
+    private final int consumedItemId;
+    private final double depleteChance;
+    private final int respawnTicks;
+    private final double moveChance;
+    private final Position[] positions;
+
+    private int positionIndex;
+    private long availableAtTick;
+
+    private SimResource(Builder builder) {
+        this.id = builder.id;
+        this.name = builder.name;
+        this.npc = builder.npc;
+        this.action = builder.action;
+        this.skill = builder.skill;
+        this.productId = builder.productId;
+        this.expTenths = builder.expTenths;
+        this.lowChance = builder.lowChance;
+        this.highChance = builder.highChance;
+        this.toolIds = builder.toolIds;
+        this.consumedItemId = builder.consumedItemId;
+        this.depleteChance = builder.depleteChance;
+        this.respawnTicks = builder.respawnTicks;
+        this.moveChance = builder.moveChance;
+        this.positions = builder.positions;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isNpc() {
+        return npc;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public int getExpTenths() {
+        return expTenths;
+    }
+
+    public double getSuccessChance(int level) {
+        return lowChance + (highChance - lowChance) * (Math.min(level, 99) - 1) / 98D;
+    }
+
+    public int[] getToolIds() {
+        return toolIds;
+    }
+
+    public int getConsumedItemId() {
+        return consumedItemId;
+    }
+
+    public double getDepleteChance() {
+        return depleteChance;
+    }
+
+    public double getMoveChance() {
+        return moveChance;
+    }
+
+    public Position getPosition() {
+        return positions[positionIndex];
+    }
+
+    public boolean isAvailable(long tick) {
+        return tick >= availableAtTick;
+    }
+
+    void deplete(long tick) {
+        availableAtTick = tick + respawnTicks;
+    }
+
+    void move(int newPositionIndex) {
+        positionIndex = newPositionIndex % positions.length;
+    }
+
+    int getPositionCount() {
+        return positions.length;
+    }
+
+    public static Builder npc(int id, String action) {
+        Builder builder = new Builder(id, null, action);
+        builder.npc = true;
+        return builder;
+    }
+
+    public static Builder object(int id, String name, String action) {
+        return new Builder(id, name, action);
+    }
+
+    public static class Builder {
+        private final int id;
+        private final String name;
+        private final String action;
+        private boolean npc;
+        private Skill skill;
+        private int productId;
+        private int expTenths;
+        private double lowChance;
+        private double highChance;
+        private int[] toolIds = new int[0];
+        private int consumedItemId = -1;
+        private double depleteChance;
+        private int respawnTicks;
+        private double moveChance;
+        private Position[] positions;
+
+        private Builder(int id, String name, String action) {
+            this.id = id;
+            this.name = name;
+            this.action = action;
+        }
+
+        public Builder product(Skill skill, int productId, double exp) {
+            this.skill = skill;
+            this.productId = productId;
+            this.expTenths = (int) Math.round(exp * 10);
+            return this;
+        }
+
+        public Builder successChance(double lowChance, double highChance) {
+            this.lowChance = lowChance;
+            this.highChance = highChance;
+            return this;
+        }
+
+        public Builder tools(int... toolIds) {
+            this.toolIds = toolIds;
+            return this;
+        }
+
+        public Builder consumes(int itemId) {
+            this.consumedItemId = itemId;
+            return this;
+        }
+
+        public Builder depletes(double depleteChance, int respawnTicks) {
+            this.depleteChance = depleteChance;
+            this.respawnTicks = respawnTicks;
+            return this;
+        }
+
+        public Builder moves(double moveChance) {
+            this.moveChance = moveChance;
+            return this;
+        }
+
+        public SimResource at(Position... positions) {
+            this.positions = positions;
+            return new SimResource(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package script.client.sim;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.BotContext;
+import script.BotRunner;
+import script.state.BotState;
+
+import java.util.Random;
+import java.util.function.Function;
+
+// Drives the same BotRunner as MainScript.onLoop against a simulated client, sleeping the returned delay
+public class SimulatedBot {
+    private static final Skill[] SKILLS = Skill.values();
+
+    private final SimulatedGameClient client;
+    private final BotRunner runner;
+    private final long[] stateTime = new long[SKILLS.length];
+    private long iterations;
+
+    public SimulatedBot(SimulatedGameClient client, long seed) {
+        this.client = client;
+        this.runner = new BotRunner(client, new Random(seed));
+    }
+
+    public void registerState(Function<BotContext, BotState> factory) {
+        runner.registerState(factory);
+    }
+
+    public void run(long durationMs) throws InterruptedException {
+        long end = client.currentTime() + durationMs;
+        while (client.currentTime() < end && !client.isStopped()) {
+            runIteration();
+        }
+        runner.stop();
+    }
+
+    // One onLoop pass including the scheduler sleep
+    public void runIteration() throws InterruptedException {
+        if (runner.getCurrentState() == null) {
+            runner.start();
+        }
+        long start = client.currentTime();
+        Skill trainedSkill = runner.getCurrentState().getTrainedSkill();
+        client.sleep(runner.loop());
+        if (trainedSkill != null) {
+            stateTime[trainedSkill.ordinal()] += client.currentTime() - start;
+        }
+        iterations++;
+    }
+
+    public BotRunner getRunner() {
+        return runner;
+    }
+
+    public long getTimeInSkill(Skill skill) {
+        return stateTime[skill.ordinal()];
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+}
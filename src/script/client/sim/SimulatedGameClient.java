@@ -0,0 +1,896 @@
+package script.client.sim;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.client.*;
+import script.scheduler.TickClock;
+import script.scheduler.WaitEngine;
+import script.world.IntIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Deterministic in-memory game: 600 ms ticks, resource depletion and respawn, XP and walking costs
+public class SimulatedGameClient implements GameClient {
+    public static final int TICK_MS = 600;
+
+    private static final int TILES_PER_TICK = 2; // Running
+    private static final int WEB_WALK_OVERHEAD_TICKS = 2;
+    private static final int LOCAL_WALK_MAX_STEP = 15; // Farthest waypoint a local step can reach
+    private static final int MOUSE_MOVE_MS = 300;      // Moving the cursor onto a target that is not hovered yet
+    private static final int ITEM_DROP_MS = 110;
+    private static final int SLOT_TRAVEL_MS = 30;      // Per slot the cursor crosses between drops
+    private static final int OUTSIDE_TRAVEL_SLOTS = 3; // Coming into the inventory from the game view
+    private static final int[] LEVEL_EXP_TENTHS = buildLevelTable();
+
+    private final Random random;
+    private final List<SimResource> resources = new ArrayList<>();
+    private final Map<Integer, SimItem> items = new HashMap<>();
+    private final int[] inventoryIds = new int[ClientInventory.SIZE];
+    private final int[] inventoryAmounts = new int[ClientInventory.SIZE];
+    private final int[] equippedIds = new int[ClientEquipment.SIZE];
+    private final IntIntMap bank = new IntIntMap(64);
+    private final int[] expTenths = new int[Skill.values().length];
+
+    private final ClientInventory inventory = new SimInventory();
+    private final ClientEquipment equipment = new SimEquipment();
+    private final ClientBank bankView = new SimBank();
+    private final ClientDepositBox depositBox = new SimDepositBox();
+    private final ClientSkills skills = new SimSkills();
+    private final ClientPlayer player = new SimPlayer();
+    private final ClientEntities entities = new SimEntities();
+    private final RouteCache routeCache = new RouteCache(null);
+    private final ClientWalking walking = new RouteCachingWalking(this, new SimWalking(), routeCache);
+    private final WaitEngine waits = new WaitEngine(this, new TickClock(0));
+
+    private long time;
+    private long tick;
+    private Position position;
+    private SimResource target;
+    private SimResource hovered; // Resource under the cursor
+    private int mouseSlot = -1;  // Inventory slot under the cursor, -1 when it is elsewhere
+    private int walkTicksLeft;
+    private boolean bankOpen;
+    private boolean depositBoxOpen;
+    private boolean stopped;
+    private boolean logging;
+
+    public SimulatedGameClient(long seed, Position startPosition) {
+        this.random = new Random(seed);
+        this.position = startPosition;
+        Arrays.fill(inventoryIds, -1);
+        Arrays.fill(equippedIds, -1);
+    }
+
+    public void defineItem(int itemId, String name, boolean stackable, boolean wieldable) {
+        items.put(itemId, new SimItem(name, stackable, wieldable));
+    }
+
+    public void addResource(SimResource resource) {
+        resources.add(resource);
+    }
+
+    public void addBankItem(int itemId, int amount) {
+        bank.add(itemId, amount);
+    }
+
+    // Starts the player carrying the items, as if they had been withdrawn before
+    public void addInventoryItem(int itemId, int amount) {
+        addItem(itemId, amount);
+    }
+
+    public void addExperience(Skill skill, int exp) {
+        expTenths[skill.ordinal()] += exp * 10;
+    }
+
+    public void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    @Override
+    public ClientInventory getInventory() {
+        return inventory;
+    }
+
+    @Override
+    public ClientEquipment getEquipment() {
+        return equipment;
+    }
+
+    @Override
+    public ClientBank getBank() {
+        return bankView;
+    }
+
+    @Override
+    public ClientDepositBox getDepositBox() {
+        return depositBox;
+    }
+
+    @Override
+    public ClientSkills getSkills() {
+        return skills;
+    }
+
+    @Override
+    public ClientPlayer getPlayer() {
+        return player;
+    }
+
+    @Override
+    public ClientEntities getEntities() {
+        return entities;
+    }
+
+    @Override
+    public ClientWalking getWalking() {
+        return walking;
+    }
+
+    @Override
+    public RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    @Override
+    public long currentTime() {
+        return time;
+    }
+
+    // Simulated runs never touch the disk
+    @Override
+    public String getDataDirectory() {
+        return null;
+    }
+
+    @Override
+    public int random(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    @Override
+    public void sleep(long millis) {
+        advance(millis);
+    }
+
+    @Override
+    public WaitEngine getWaits() {
+        return waits;
+    }
+
+    @Override
+    public void log(String message) {
+        if (logging) {
+            System.out.println("[" + tick + "] " + message);
+        }
+    }
+
+    @Override
+    public void logOutAndStop() {
+        stopped = true;
+    }
+
+    private void advance(long millis) {
+        long end = time + millis;
+        while ((tick + 1) * TICK_MS <= end) {
+            tick++;
+            time = tick * TICK_MS;
+            processTick();
+        }
+        time = end;
+    }
+
+    private void processTick() {
+        for (SimResource resource : resources) {
+            if (resource.getMoveChance() > 0 && random.nextDouble() < resource.getMoveChance()) {
+                resource.move(random.nextInt(resource.getPositionCount()));
+                if (resource == target) {
+                    // Also stops a walk towards the old spot, which would otherwise never finish
+                    target = null;
+                    walkTicksLeft = 0;
+                }
+            }
+        }
+        if (target == null) {
+            return;
+        }
+        if (walkTicksLeft > 0) {
+            walkTicksLeft--;
+            if (walkTicksLeft == 0) {
+                position = target.getPosition();
+            }
+            return;
+        }
+        if (!target.isAvailable(tick) || freeSlots() == 0 || !hasAnyItem(target.getToolIds())
+                || (target.getConsumedItemId() >= 0 && countItem(target.getConsumedItemId()) == 0)) {
+            target = null;
+            return;
+        }
+        Skill skill = target.getSkill();
+        if (random.nextDouble() < target.getSuccessChance(levelFor(expTenths[skill.ordinal()]))) {
+            if (target.getConsumedItemId() >= 0) {
+                removeItem(target.getConsumedItemId(), 1);
+            }
+            addItem(target.getProductId(), 1);
+            expTenths[skill.ordinal()] += target.getExpTenths();
+            if (random.nextDouble() < target.getDepleteChance()) {
+                target.deplete(tick);
+                target = null;
+            }
+        }
+    }
+
+    private int walkTicks(Position destination) {
+        int distance = Math.max(Math.abs(position.getX() - destination.getX()), Math.abs(position.getY() - destination.getY()));
+        return (distance + TILES_PER_TICK - 1) / TILES_PER_TICK;
+    }
+
+    private void walkTo(Position destination) {
+        target = null;
+        hovered = null;
+        mouseSlot = -1;
+        walkTicksLeft = 0;
+        advance((long) (walkTicks(destination) + WEB_WALK_OVERHEAD_TICKS) * TICK_MS);
+        position = destination;
+    }
+
+    private SimResource closestResource(boolean npc, int id, String name, Area area, Position excluded) {
+        SimResource closest = null;
+        int closestDistance = Integer.MAX_VALUE;
+        for (SimResource resource : resources) {
+            if (resource.isNpc() != npc || !resource.isAvailable(tick)) {
+                continue;
+            }
+            if (npc ? resource.getId() != id : !resource.getName().equals(name)) {
+                continue;
+            }
+            if (area != null && !area.contains(resource.getPosition()) || resource.getPosition().equals(excluded)) {
+                continue;
+            }
+            int distance = walkTicks(resource.getPosition());
+            if (distance < closestDistance) {
+                closest = resource;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    // Inventory bookkeeping
+
+    private boolean isStackable(int itemId) {
+        SimItem item = items.get(itemId);
+        return item != null && item.stackable;
+    }
+
+    private int freeSlots() {
+        int free = 0;
+        for (int id : inventoryIds) {
+            if (id < 0) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    private int countItem(int itemId) {
+        int count = 0;
+        for (int slot = 0; slot < inventoryIds.length; slot++) {
+            if (inventoryIds[slot] == itemId) {
+                count += inventoryAmounts[slot];
+            }
+        }
+        return count;
+    }
+
+    private boolean hasAnyItem(int[] itemIds) {
+        if (itemIds.length == 0) {
+            return true;
+        }
+        for (int itemId : itemIds) {
+            if (countItem(itemId) > 0 || isEquipped(itemId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEquipped(int itemId) {
+        for (int id : equippedIds) {
+            if (id == itemId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns how many were actually added
+    private int addItem(int itemId, int amount) {
+        if (isStackable(itemId)) {
+            for (int slot = 0; slot < inventoryIds.length; slot++) {
+                if (inventoryIds[slot] == itemId) {
+                    inventoryAmounts[slot] += amount;
+                    return amount;
+                }
+            }
+            return fillSlots(itemId, amount, 1) > 0 ? amount : 0;
+        }
+        return fillSlots(itemId, 1, amount);
+    }
+
+    private int fillSlots(int itemId, int amountPerSlot, int slots) {
+        int filled = 0;
+        for (int slot = 0; slot < inventoryIds.length && filled < slots; slot++) {
+            if (inventoryIds[slot] < 0) {
+                inventoryIds[slot] = itemId;
+                inventoryAmounts[slot] = amountPerSlot;
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    private int removeItem(int itemId, int amount) {
+        int removed = 0;
+        for (int slot = 0; slot < inventoryIds.length && removed < amount; slot++) {
+            if (inventoryIds[slot] == itemId) {
+                int taken = Math.min(amount - removed, inventoryAmounts[slot]);
+                inventoryAmounts[slot] -= taken;
+                removed += taken;
+                if (inventoryAmounts[slot] == 0) {
+                    inventoryIds[slot] = -1;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private static boolean contains(int[] itemIds, int itemId) {
+        for (int id : itemIds) {
+            if (id == itemId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int levelFor(int expTenths) {
+        int level = 1;
+        while (level < 99 && expTenths >= LEVEL_EXP_TENTHS[level + 1]) {
+            level++;
+        }
+        return level;
+    }
+
+    private static int[] buildLevelTable() {
+        int[] table = new int[101];
+        double points = 0;
+        for (int level = 2; level <= 100; level++) {
+            points += Math.floor(level - 1 + 300 * Math.pow(2, (level - 1) / 7D));
+            table[level] = (int) Math.floor(points / 4) * 10;
+        }
+        return table;
+    }
+
+    private static class SimItem {
+        private final String name;
+        private final boolean stackable;
+        private final boolean wieldable;
+
+        private SimItem(String name, boolean stackable, boolean wieldable) {
+            this.name = name;
+            this.stackable = stackable;
+            this.wieldable = wieldable;
+        }
+    }
+
+    private class SimInventory implements ClientInventory {
+        @Override
+        public int readItems(int[] ids, int[] amounts) {
+            System.arraycopy(inventoryIds, 0, ids, 0, ClientInventory.SIZE);
+            System.arraycopy(inventoryAmounts, 0, amounts, 0, ClientInventory.SIZE);
+            return ClientInventory.SIZE - freeSlots();
+        }
+
+        @Override
+        public boolean contains(int itemId) {
+            return countItem(itemId) > 0;
+        }
+
+        @Override
+        public int getAmount(int itemId) {
+            return countItem(itemId);
+        }
+
+        @Override
+        public boolean isFull() {
+            return freeSlots() == 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return freeSlots() == ClientInventory.SIZE;
+        }
+
+        @Override
+        public int getEmptySlots() {
+            return freeSlots();
+        }
+
+        @Override
+        public String getItemName(int itemId) {
+            SimItem item = items.get(itemId);
+            return contains(itemId) && item != null ? item.name : null;
+        }
+
+        @Override
+        public boolean hasAction(int itemId, String action) {
+            SimItem item = items.get(itemId);
+            return contains(itemId) && item != null && item.wieldable && "Wield".equals(action);
+        }
+
+        @Override
+        public boolean interact(int itemId, String action) {
+            if (!hasAction(itemId, action)) {
+                return false;
+            }
+            hovered = null;
+            mouseSlot = -1;
+            for (int slot = 0; slot < equippedIds.length; slot++) {
+                if (equippedIds[slot] < 0) {
+                    removeItem(itemId, 1);
+                    equippedIds[slot] = itemId;
+                    advance(TICK_MS);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean dropAll(int... itemIds) {
+            for (int slot = 0; slot < inventoryIds.length; slot++) {
+                if (inventoryIds[slot] >= 0 && SimulatedGameClient.contains(itemIds, inventoryIds[slot])) {
+                    dropSlot(slot);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean dropAllExcept(int... itemIds) {
+            for (int slot = 0; slot < inventoryIds.length; slot++) {
+                if (inventoryIds[slot] >= 0 && !SimulatedGameClient.contains(itemIds, inventoryIds[slot])) {
+                    dropSlot(slot);
+                }
+            }
+            return true;
+        }
+
+        // Gathering carries on while items are dropped; only the cursor travel between slots costs time
+        @Override
+        public boolean dropSlot(int slot) {
+            if (slot < 0 || slot >= inventoryIds.length || inventoryIds[slot] < 0) {
+                return false;
+            }
+            int travel = mouseSlot < 0 ? OUTSIDE_TRAVEL_SLOTS
+                    : Math.max(Math.abs(mouseSlot % 4 - slot % 4), Math.abs(mouseSlot / 4 - slot / 4));
+            hovered = null;
+            mouseSlot = slot;
+            inventoryIds[slot] = -1;
+            inventoryAmounts[slot] = 0;
+            advance(ITEM_DROP_MS + travel * SLOT_TRAVEL_MS);
+            return true;
+        }
+    }
+
+    private class SimEquipment implements ClientEquipment {
+        @Override
+        public int readItemIds(int[] ids) {
+            int count = 0;
+            for (int id : equippedIds) {
+                if (id >= 0 && count < ids.length) {
+                    ids[count++] = id;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public boolean contains(int itemId) {
+            return isEquipped(itemId);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (int id : equippedIds) {
+                if (id >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private class SimBank implements ClientBank {
+        @Override
+        public boolean isOpen() {
+            return bankOpen;
+        }
+
+        @Override
+        public boolean open() {
+            hovered = null;
+            mouseSlot = -1;
+            advance(2 * TICK_MS);
+            bankOpen = true;
+            return true;
+        }
+
+        @Override
+        public boolean close() {
+            bankOpen = false;
+            return true;
+        }
+
+        @Override
+        public boolean contains(int itemId) {
+            return bank.get(itemId) > 0;
+        }
+
+        @Override
+        public int getAmount(int itemId) {
+            return bank.get(itemId);
+        }
+
+        @Override
+        public String getItemName(int itemId) {
+            SimItem item = items.get(itemId);
+            return contains(itemId) && item != null ? item.name : null;
+        }
+
+        @Override
+        public void readItems(IntIntMap contents) {
+            contents.clear();
+            for (int itemId : bank.keys()) {
+                if (bank.get(itemId) > 0) {
+                    contents.put(itemId, bank.get(itemId));
+                }
+            }
+        }
+
+        @Override
+        public boolean depositAll() {
+            if (!bankOpen) {
+                return false;
+            }
+            for (int slot = 0; slot < inventoryIds.length; slot++) {
+                if (inventoryIds[slot] >= 0) {
+                    bank.add(inventoryIds[slot], inventoryAmounts[slot]);
+                    inventoryIds[slot] = -1;
+                    inventoryAmounts[slot] = 0;
+                }
+            }
+            advance(TICK_MS);
+            return true;
+        }
+
+        @Override
+        public boolean depositAll(int itemId) {
+            if (!bankOpen) {
+                return false;
+            }
+            bank.add(itemId, removeItem(itemId, Integer.MAX_VALUE));
+            advance(TICK_MS);
+            return true;
+        }
+
+        @Override
+        public boolean depositWornItems() {
+            if (!bankOpen) {
+                return false;
+            }
+            for (int slot = 0; slot < equippedIds.length; slot++) {
+                if (equippedIds[slot] >= 0) {
+                    bank.add(equippedIds[slot], 1);
+                    equippedIds[slot] = -1;
+                }
+            }
+            advance(TICK_MS);
+            return true;
+        }
+
+        @Override
+        public boolean withdraw(int itemId, int amount) {
+            int available = bank.get(itemId);
+            if (!bankOpen || available <= 0) {
+                return false;
+            }
+            int withdrawn = addItem(itemId, Math.min(amount, available));
+            bank.put(itemId, available - withdrawn);
+            advance(TICK_MS);
+            return withdrawn > 0;
+        }
+    }
+
+    private class SimDepositBox implements ClientDepositBox {
+        @Override
+        public boolean isOpen() {
+            return depositBoxOpen;
+        }
+
+        @Override
+        public boolean open() {
+            hovered = null;
+            mouseSlot = -1;
+            advance(2 * TICK_MS);
+            depositBoxOpen = true;
+            return true;
+        }
+
+        @Override
+        public boolean close() {
+            depositBoxOpen = false;
+            return true;
+        }
+
+        @Override
+        public boolean depositAllExcept(int... itemIds) {
+            for (int slot = 0; slot < inventoryIds.length; slot++) {
+                if (inventoryIds[slot] >= 0 && !SimulatedGameClient.contains(itemIds, inventoryIds[slot])) {
+                    bank.add(inventoryIds[slot], inventoryAmounts[slot]);
+                    inventoryIds[slot] = -1;
+                    inventoryAmounts[slot] = 0;
+                }
+            }
+            advance(TICK_MS);
+            return true;
+        }
+    }
+
+    private class SimSkills implements ClientSkills {
+        @Override
+        public int getStatic(Skill skill) {
+            return levelFor(expTenths[skill.ordinal()]);
+        }
+
+        @Override
+        public int getDynamic(Skill skill) {
+            return getStatic(skill);
+        }
+
+        @Override
+        public int getExperience(Skill skill) {
+            return expTenths[skill.ordinal()] / 10;
+        }
+
+        @Override
+        public int getExperienceForLevel(int level) {
+            return LEVEL_EXP_TENTHS[Math.max(1, Math.min(level, 100))] / 10;
+        }
+    }
+
+    private class SimPlayer implements ClientPlayer {
+        @Override
+        public String getName() {
+            return "Simulated";
+        }
+
+        @Override
+        public Position getPosition() {
+            return position;
+        }
+
+        @Override
+        public int getAnimation() {
+            return isAnimating() ? target.getId() : -1;
+        }
+
+        @Override
+        public boolean isAnimating() {
+            return target != null && walkTicksLeft == 0;
+        }
+
+        @Override
+        public boolean isMoving() {
+            return walkTicksLeft > 0;
+        }
+
+        @Override
+        public boolean isInteracting() {
+            return target != null;
+        }
+
+        @Override
+        public boolean isUnderAttack() {
+            return false;
+        }
+    }
+
+    private class SimEntities implements ClientEntities {
+        @Override
+        public GameEntity closestNpc(int npcId) {
+            SimResource resource = closestResource(true, npcId, null, null, null);
+            return resource != null ? new SimEntity(resource) : null;
+        }
+
+        @Override
+        public GameEntity closestNpc(int npcId, Position excluded) {
+            SimResource resource = closestResource(true, npcId, null, null, excluded);
+            return resource != null ? new SimEntity(resource) : null;
+        }
+
+        @Override
+        public GameEntity closestObject(String name) {
+            SimResource resource = closestResource(false, -1, name, null, null);
+            return resource != null ? new SimEntity(resource) : null;
+        }
+
+        @Override
+        public GameEntity closestObject(Area area, String name) {
+            SimResource resource = closestResource(false, -1, name, area, null);
+            return resource != null ? new SimEntity(resource) : null;
+        }
+
+        @Override
+        public GameEntity objectAt(Position tile, String name) {
+            for (SimResource resource : resources) {
+                if (!resource.isNpc() && resource.isAvailable(tick) && resource.getName().equals(name) && resource.getPosition().equals(tile)) {
+                    return new SimEntity(resource);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void readObjectPositions(Area area, String name, List<Position> positions) {
+            positions.clear();
+            for (SimResource resource : resources) {
+                if (!resource.isNpc() && resource.isAvailable(tick) && resource.getName().equals(name) && area.contains(resource.getPosition())) {
+                    positions.add(resource.getPosition());
+                }
+            }
+        }
+
+        // The simulated world has no other players
+        @Override
+        public int countOtherPlayersNear(Position tile, int distance) {
+            return 0;
+        }
+    }
+
+    private class SimEntity implements GameEntity {
+        private final SimResource resource;
+
+        private SimEntity(SimResource resource) {
+            this.resource = resource;
+        }
+
+        @Override
+        public int getId() {
+            return resource.getId();
+        }
+
+        @Override
+        public Position getPosition() {
+            return resource.getPosition();
+        }
+
+        @Override
+        public boolean exists() {
+            return resource.isAvailable(tick);
+        }
+
+        @Override
+        public boolean interact(String action) {
+            if (!exists() || !resource.getAction().equals(action)) {
+                return false;
+            }
+            moveMouseTo(resource);
+            target = resource;
+            walkTicksLeft = walkTicks(resource.getPosition());
+            if (walkTicksLeft == 0) {
+                position = resource.getPosition();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hover() {
+            if (!exists()) {
+                return false;
+            }
+            moveMouseTo(resource);
+            return true;
+        }
+    }
+
+    private void moveMouseTo(SimResource resource) {
+        if (hovered != resource) {
+            advance(MOUSE_MOVE_MS);
+            hovered = resource;
+            mouseSlot = -1;
+        }
+    }
+
+    private class SimWalking implements ClientWalking {
+        @Override
+        public boolean webWalk(Area... areas) {
+            return webWalk(null, areas);
+        }
+
+        @Override
+        public boolean webWalk(WalkedTrail trail, Area area) {
+            return webWalk(trail, new Area[]{area});
+        }
+
+        private boolean webWalk(WalkedTrail trail, Area[] areas) {
+            Position closest = null;
+            int closestTicks = Integer.MAX_VALUE;
+            for (Area area : areas) {
+                for (Position candidate : area.getPositions()) {
+                    int ticks = walkTicks(candidate);
+                    if (ticks < closestTicks) {
+                        closest = candidate;
+                        closestTicks = ticks;
+                    }
+                }
+            }
+            if (closest == null) {
+                return false;
+            }
+            webWalk(trail, closest);
+            return true;
+        }
+
+        @Override
+        public boolean webWalk(Position destination) {
+            walkTo(destination);
+            return true;
+        }
+
+        // Records a straight line, which is what the simulated walk takes
+        @Override
+        public boolean webWalk(WalkedTrail trail, Position destination) {
+            if (trail != null) {
+                int steps = Math.max(Math.abs(destination.getX() - position.getX()), Math.abs(destination.getY() - position.getY()));
+                for (int i = 1; i <= steps; i++) {
+                    trail.add(new Position(position.getX() + (destination.getX() - position.getX()) * i / steps,
+                            position.getY() + (destination.getY() - position.getY()) * i / steps, destination.getZ()));
+                }
+            }
+            walkTo(destination);
+            return true;
+        }
+
+        // Local steps skip the web walker's path search, so they cost only the walking time
+        @Override
+        public boolean walkPath(List<Position> path) {
+            target = null;
+            hovered = null;
+            mouseSlot = -1;
+            walkTicksLeft = 0;
+            for (Position waypoint : path) {
+                if (waypoint.getZ() != position.getZ() || walkTicks(waypoint) * TILES_PER_TICK > LOCAL_WALK_MAX_STEP) {
+                    return false;
+                }
+                advance((long) walkTicks(waypoint) * TICK_MS);
+                position = waypoint;
+            }
+            return true;
+        }
+    }
+}
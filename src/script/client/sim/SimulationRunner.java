@@ -0,0 +1,107 @@
+package script.client.sim;
+
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.scheduler.WaitHistogram;
+import script.state.FishingState;
+import script.state.WoodcuttingState;
+
+import java.util.Map;
+
+// Runs the fishing and woodcutting states offline and prints XP per hour, e.g. for comparing builds on CI.
+// Success chances are per tick, so they fold in the game only rolling every four or five ticks.
+public class SimulationRunner {
+    private static final Skill[] REPORTED_SKILLS = {Skill.FISHING, Skill.WOODCUTTING};
+    private static final Position LUMBRIDGE = new Position(3222, 3218, 0);
+
+    public static void main(String[] args) throws InterruptedException {
+        double hours = args.length > 0 ? Double.parseDouble(args[0]) : 100;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+
+        SimulatedGameClient client = createWorld(seed);
+        client.setLogging(args.length > 2 && Boolean.parseBoolean(args[2]));
+        SimulatedBot bot = new SimulatedBot(client, seed);
+        bot.registerState(FishingState::new);
+        bot.registerState(WoodcuttingState::new);
+
+        long start = System.nanoTime();
+        bot.run((long) (hours * 3600000));
+        long elapsedMs = (System.nanoTime() - start) / 1000000;
+
+        System.out.println("Simulated " + hours + " h (seed " + seed + ") in " + elapsedMs + " ms, "
+                + bot.getIterations() + " loop iterations");
+        for (Skill skill : REPORTED_SKILLS) {
+            long timeInSkill = bot.getTimeInSkill(skill);
+            int exp = client.getSkills().getExperience(skill);
+            int expPerHour = timeInSkill > 0 ? (int) (exp * 3600000D / timeInSkill) : 0;
+            System.out.println(skill + ": level " + client.getSkills().getStatic(skill) + ", " + exp + " xp, "
+                    + (timeInSkill / 60000) + " min, " + expPerHour + " xp/h");
+        }
+        for (Map.Entry<String, WaitHistogram> entry : client.getWaits().getHistograms().entrySet()) {
+            System.out.println("Wait " + entry.getKey() + ": " + entry.getValue());
+        }
+        if (client.isStopped()) {
+            System.out.println("Script stopped itself before the end of the run");
+        }
+    }
+
+    public static SimulatedGameClient createWorld(long seed) {
+        SimulatedGameClient client = new SimulatedGameClient(seed, LUMBRIDGE);
+
+        client.defineItem(303, "Small fishing net", false, false);
+        client.defineItem(309, "Fly fishing rod", false, false);
+        client.defineItem(314, "Feather", true, false);
+        client.defineItem(301, "Lobster pot", false, false);
+        client.defineItem(995, "Coins", true, false);
+        client.defineItem(317, "Raw shrimps", false, false);
+        client.defineItem(335, "Raw trout", false, false);
+        client.defineItem(377, "Raw lobster", false, false);
+        client.defineItem(1511, "Logs", false, false);
+        client.defineItem(1521, "Oak logs", false, false);
+        client.defineItem(1515, "Yew logs", false, false);
+        client.defineItem(1351, "Bronze axe", false, true);
+        client.defineItem(1353, "Steel axe", false, true);
+        client.defineItem(1361, "Black axe", false, true);
+        client.defineItem(1355, "Mithril axe", false, true);
+        client.defineItem(1357, "Adamant axe", false, true);
+        client.defineItem(1359, "Rune axe", false, true);
+
+        int[] axes = {1351, 1353, 1361, 1355, 1357, 1359};
+        for (int axe : axes) {
+            client.addBankItem(axe, 1);
+        }
+        client.addBankItem(303, 1);
+        client.addBankItem(309, 1);
+        client.addBankItem(301, 1);
+        client.addBankItem(314, 1500);
+        client.addBankItem(995, 2000000);
+
+        client.addResource(SimResource.npc(1530, "Net").product(Skill.FISHING, 317, 10)
+                .successChance(0.05, 0.14).tools(303).moves(0.004)
+                .at(new Position(3240, 3150, 0), new Position(3243, 3155, 0), new Position(3246, 3146, 0)));
+        client.addResource(SimResource.npc(1526, "Lure").product(Skill.FISHING, 335, 50)
+                .successChance(0.03, 0.1).tools(309).consumes(314).moves(0.004)
+                .at(new Position(3104, 3424, 0), new Position(3106, 3430, 0), new Position(3109, 3434, 0)));
+        client.addResource(SimResource.npc(1522, "Cage").product(Skill.FISHING, 377, 90)
+                .successChance(0.016, 0.07).tools(301).moves(0.004)
+                .at(new Position(2924, 3178, 0), new Position(2926, 3176, 0)));
+
+        Position[] trees = {new Position(3160, 3220, 0), new Position(3170, 3230, 0), new Position(3185, 3245, 0),
+                new Position(3195, 3235, 0), new Position(3200, 3255, 0)};
+        for (Position tree : trees) {
+            client.addResource(SimResource.object(1276, "Tree", "Chop down").product(Skill.WOODCUTTING, 1511, 25)
+                    .successChance(0.075, 0.225).tools(axes).depletes(1, 50).at(tree));
+        }
+        Position[] oaks = {new Position(3101, 3243, 0), new Position(3099, 3244, 0)};
+        for (Position oak : oaks) {
+            client.addResource(SimResource.object(10820, "Oak tree", "Chop down").product(Skill.WOODCUTTING, 1521, 37.5)
+                    .successChance(0.04, 0.15).tools(axes).depletes(0.125, 14).at(oak));
+        }
+        Position[] yews = {new Position(3087, 3470, 0), new Position(3087, 3475, 0), new Position(3087, 3480, 0)};
+        for (Position yew : yews) {
+            client.addResource(SimResource.object(10822, "Yew tree", "Chop down").product(Skill.WOODCUTTING, 1515, 175)
+                    .successChance(0.01, 0.05).tools(axes).depletes(0.125, 100).at(yew));
+        }
+        return client;
+    }
+}
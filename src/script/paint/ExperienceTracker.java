@@ -0,0 +1,49 @@
+package script.paint;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.client.GameClient;
+
+import java.util.Arrays;
+
+public class ExperienceTracker {
+    // Skill.values() clones on every call, so keep our own copy
+    private static final Skill[] SKILLS = Skill.values();
+
+    private final GameClient client;
+    private final int[] previousExp = new int[SKILLS.length];
+    private XpDropListener[] listeners = new XpDropListener[0];
+    private boolean initialized;
+
+    public ExperienceTracker(GameClient client) {
+        this.client = client;
+    }
+
+    public void poll(long now) {
+        for (int i = 0; i < SKILLS.length; i++) {
+            int currentExp = client.getSkills().getExperience(SKILLS[i]);
+            if (!initialized) {
+                previousExp[i] = currentExp;
+            } else if (currentExp > previousExp[i]) {
+                int gainedExp = currentExp - previousExp[i];
+                previousExp[i] = currentExp;
+                fireXpDrop(SKILLS[i], gainedExp, now);
+            }
+        }
+        initialized = true;
+    }
+
+    public int getExperience(Skill skill) {
+        return previousExp[skill.ordinal()];
+    }
+
+    public void addListener(XpDropListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    private void fireXpDrop(Skill skill, int gainedExp, long timestamp) {
+        for (XpDropListener listener : listeners) {
+            listener.onXpDrop(skill, gainedExp, timestamp);
+        }
+    }
+}
@@ -1,91 +1,166 @@
 package script.paint;
 
-import org.osbot.rs07.api.ui.Skill;
-import org.osbot.rs07.script.Script;
+import script.client.GameClient;
+import script.scheduler.LoopStats;
+
 import java.awt.*;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
+import java.awt.image.BufferedImage;
 
 public class OSDPainter {
-    private final Script script;
-    private final Map<Skill, SkillTracker> skillTrackers;
-    private final Map<Skill, Integer> previousExp;
+    private static final Font HEADER_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font TEXT_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 180); // Dark, semi-transparent background
+    private static final Color HEADER_COLOR = new Color(255, 215, 0); // Gold color for header
+    private static final Color TEXT_COLOR = Color.WHITE;
+
+    private static final int PANEL_X = 5;
+    private static final int PANEL_Y = 5;
+    private static final int PANEL_WIDTH = 250; // Slightly wider background to fit more content
+    private static final int PANEL_HEIGHT = 500;
+    private static final long RENDER_INTERVAL_MS = 1000; // Every number on the panel changes at most once a second
+    private static final long PUBLISH_INTERVAL_MS = 1000;
+
+    private final GameClient client;
+    private final SkillTrackers skillTrackers; // Only touched by the script thread
+    private final LoopStats loopStats;
     private final long scriptStartTime;
 
-    public OSDPainter(Script script) {
-        this.script = script;
-        this.skillTrackers = new HashMap<>();
-        this.previousExp = new HashMap<>();
-        this.scriptStartTime = System.currentTimeMillis();
+    // Handed from the script thread to the paint thread; replaced, never mutated
+    private volatile StatsSnapshot stats = StatsSnapshot.EMPTY;
+    private long lastPublishTime;
+    private int publishedVersion = -1;
+
+    // Panel is rendered off-screen and blitted on every other frame
+    private final BufferedImage panel = new BufferedImage(PANEL_WIDTH, PANEL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    private final StringBuilder text = new StringBuilder(64);
+    private long lastRenderTime;
+    private StatsSnapshot renderedStats;
+
+    public OSDPainter(GameClient client, SkillTrackers skillTrackers, LoopStats loopStats) {
+        this.client = client;
+        this.skillTrackers = skillTrackers;
+        this.loopStats = loopStats;
+        this.scriptStartTime = client.currentTime();
     }
 
-    public void checkForNewSkills() {
-        for (Skill skill : Skill.values()) {
-            int currentExp = script.getSkills().getExperience(skill);
-            if (!previousExp.containsKey(skill)) {
-                // Initialize the previous experience for all skills to 0 or current experience
-                    previousExp.put(skill, currentExp);
-            } else if (currentExp > previousExp.get(skill)) {
-                // Add a tracker only if the skill's experience has increased from its previous value
-                skillTrackers.putIfAbsent(skill, new SkillTracker(script, skill));
-                previousExp.put(skill, currentExp);
-            }
+    // Called from the script thread after experience has been polled
+    public void publishStats(long now) {
+        if (skillTrackers.getVersion() == publishedVersion && now - lastPublishTime < PUBLISH_INTERVAL_MS) {
+            return;
+        }
+        SkillStats[] skillStats = new SkillStats[skillTrackers.size()];
+        int index = 0;
+        for (SkillTracker tracker : skillTrackers.getAll()) {
+            skillStats[index++] = new SkillStats(tracker.getSkill(), client.getSkills().getStatic(tracker.getSkill()),
+                    tracker.getGainedLevels(), tracker.getExpPerHour(), tracker.getExpPerHour(SkillTracker.FIVE_MINUTES),
+                    tracker.getExpPerHour(SkillTracker.FIFTEEN_MINUTES), tracker.getTimeToNextLevel(), tracker.isActive());
         }
+        stats = new StatsSnapshot(skillStats);
+        lastPublishTime = now;
+        publishedVersion = skillTrackers.getVersion();
     }
 
     public void onPaint(Graphics2D g) {
-        // Draw background and header
-        drawBackground(g);
-        drawHeader(g);
-
-        // Display skill trackers
-        int y = 70; // Adjust starting Y position as needed
-        for (SkillTracker tracker : getDisplayedTrackers()) {
-            drawTracker(g, tracker, y);
-            y += 60; // Increase spacing to prevent overlap
+        long now = client.currentTime();
+        StatsSnapshot currentStats = stats;
+        if (currentStats != renderedStats || now - lastRenderTime >= RENDER_INTERVAL_MS) {
+            renderPanel(currentStats, now);
+            renderedStats = currentStats;
+            lastRenderTime = now;
+        }
+        g.drawImage(panel, PANEL_X, PANEL_Y, null);
+    }
+
+    private void renderPanel(StatsSnapshot currentStats, long now) {
+        Graphics2D g = panel.createGraphics();
+        try {
+            // Panel coordinates are relative to its top-left corner on screen
+            g.translate(-PANEL_X, -PANEL_Y);
+
+            // Draw background and header
+            drawBackground(g);
+            drawHeader(g, now);
+
+            // Display skill trackers
+            int y = 100; // Adjust starting Y position as needed
+            for (int i = 0; i < currentStats.getSkillCount(); i++) {
+                drawSkillStats(g, currentStats.getSkillStats(i), y);
+                y += 60; // Increase spacing to prevent overlap
+            }
+        } finally {
+            g.dispose();
         }
     }
 
     private void drawBackground(Graphics2D g) {
-        g.setColor(new Color(0, 0, 0, 180)); // Dark, semi-transparent background
-        g.fillRect(5, 5, 250, 500); // Slightly wider background to fit more content
+        g.setComposite(AlphaComposite.Src);
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(PANEL_X, PANEL_Y, PANEL_WIDTH, PANEL_HEIGHT);
+        g.setComposite(AlphaComposite.SrcOver);
     }
 
-    private void drawHeader(Graphics2D g) {
-        g.setFont(new Font("Arial", Font.BOLD, 16));
-        g.setColor(new Color(255, 215, 0)); // Gold color for header
+    private void drawHeader(Graphics2D g, long now) {
+        g.setFont(HEADER_FONT);
+        g.setColor(HEADER_COLOR);
         g.drawString("Account Trainer V1", 10, 30);
-        g.drawString("Run Time: " + formatTime(System.currentTimeMillis() - scriptStartTime), 10, 55);
+        text.setLength(0);
+        text.append("Run Time: ");
+        appendTime(text, now - scriptStartTime);
+        g.drawString(text.toString(), 10, 55);
+
+        g.setFont(TEXT_FONT);
+        text.setLength(0);
+        text.append("Loops/min: ").append(loopStats.getIterationsPerMinute())
+                .append("  Reaction: ").append(loopStats.getAverageReactionLatency())
+                .append("ms (max ").append(loopStats.getMaxReactionLatency()).append("ms)");
+        g.drawString(text.toString(), 10, 75);
     }
 
-    private void drawTracker(Graphics2D g, SkillTracker tracker, int y) {
-        g.setFont(new Font("Arial", Font.PLAIN, 12));
-        g.setColor(Color.WHITE);
+    private void drawSkillStats(Graphics2D g, SkillStats skillStats, int y) {
+        g.setFont(TEXT_FONT);
+        g.setColor(TEXT_COLOR);
 
         // Skill name, level, and levels gained
-        g.drawString(tracker.getSkill().name() + " Lvl: " + script.getSkills().getStatic(tracker.getSkill()) +
-                " (+" + tracker.getGainedLevels() + ")", 10, y);
+        text.setLength(0);
+        text.append(skillStats.getSkill().name()).append(" Lvl: ").append(skillStats.getLevel())
+                .append(" (+").append(skillStats.getGainedLevels()).append(')');
+        g.drawString(text.toString(), 10, y);
 
         // Experience per hour
-        g.drawString("Exp/Hr: " + tracker.getExpPerHour(), 10, y + 15);
+        text.setLength(0);
+        text.append("Exp/Hr: ").append(skillStats.getExpPerHour())
+                .append(" (5m: ").append(skillStats.getExpPerHourFiveMinutes())
+                .append(", 15m: ").append(skillStats.getExpPerHourFifteenMinutes()).append(')');
+        if (!skillStats.isActive()) {
+            text.append(" [paused]");
+        }
+        g.drawString(text.toString(), 10, y + 15);
 
         // Time to next level
-        g.drawString("Time to Next Lvl: " + tracker.getTimeToNextLevel(), 10, y + 30);
-
+        text.setLength(0);
+        text.append("Time to Next Lvl: ");
+        long timeToNextLevel = skillStats.getTimeToNextLevel();
+        if (timeToNextLevel < 0) {
+            text.append("N/A");
+        } else {
+            appendTime(text, timeToNextLevel);
+        }
+        g.drawString(text.toString(), 10, y + 30);
     }
 
-    private List<SkillTracker> getDisplayedTrackers() {
-        return new ArrayList<>(skillTrackers.values());
+    static void appendTime(StringBuilder builder, long millis) {
+        long hours = millis / 3600000;
+        long mins = (millis % 3600000) / 60000;
+        long secs = (millis % 60000) / 1000;
+        appendTwoDigits(builder, hours).append(':');
+        appendTwoDigits(builder, mins).append(':');
+        appendTwoDigits(builder, secs);
     }
 
-    private String formatTime(long time) {
-        long s = time / 1000, m = s / 60, h = m / 60;
-        s %= 60;
-        m %= 60;
-        h %= 24;
-        return String.format("%02d:%02d:%02d", h, m, s);
+    private static StringBuilder appendTwoDigits(StringBuilder builder, long value) {
+        if (value < 10) {
+            builder.append('0');
+        }
+        return builder.append(value);
     }
-
-}
\ No newline at end of file
+}
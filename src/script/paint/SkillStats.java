@@ -0,0 +1,59 @@
+package script.paint;
+
+import org.osbot.rs07.api.ui.Skill;
+
+// Values of one skill tracker frozen at publish time, safe to read from the paint thread
+public final class SkillStats {
+    private final Skill skill;
+    private final int level;
+    private final int gainedLevels;
+    private final int expPerHour;
+    private final int expPerHourFiveMinutes;
+    private final int expPerHourFifteenMinutes;
+    private final long timeToNextLevel;
+    private final boolean active;
+
+    public SkillStats(Skill skill, int level, int gainedLevels, int expPerHour, int expPerHourFiveMinutes,
+                      int expPerHourFifteenMinutes, long timeToNextLevel, boolean active) {
+        this.skill = skill;
+        this.level = level;
+        this.gainedLevels = gainedLevels;
+        this.expPerHour = expPerHour;
+        this.expPerHourFiveMinutes = expPerHourFiveMinutes;
+        this.expPerHourFifteenMinutes = expPerHourFifteenMinutes;
+        this.timeToNextLevel = timeToNextLevel;
+        this.active = active;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getGainedLevels() {
+        return gainedLevels;
+    }
+
+    public int getExpPerHour() {
+        return expPerHour;
+    }
+
+    public int getExpPerHourFiveMinutes() {
+        return expPerHourFiveMinutes;
+    }
+
+    public int getExpPerHourFifteenMinutes() {
+        return expPerHourFifteenMinutes;
+    }
+
+    public long getTimeToNextLevel() {
+        return timeToNextLevel;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+}
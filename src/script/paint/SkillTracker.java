@@ -1,55 +1,109 @@
 package script.paint;
 
 import org.osbot.rs07.api.ui.Skill;
-import org.osbot.rs07.script.Script;
+import script.client.GameClient;
 
 public class SkillTracker {
-    private final Script script;
+    public static final long FIVE_MINUTES = 5 * 60000;
+    public static final long FIFTEEN_MINUTES = 15 * 60000;
+
+    // 15 minutes of samples at one per five seconds fits comfortably
+    private static final int SAMPLE_CAPACITY = 256;
+    private static final long SAMPLE_INTERVAL_MS = 5000;
+
+    private final GameClient client;
     private final Skill skill;
-    private final long activeStartTime; // Start time of the current active period
-    private final long totalActiveTime; // Total active time for this skill
+    private long activeStartTime; // Start time of the current active period
+    private long totalActiveTime; // Total active time for this skill, excluding the current period
+    private boolean active;
     private final int startExp;
     private final int startLevel;
+    private final XpSampleBuffer samples = new XpSampleBuffer(SAMPLE_CAPACITY, SAMPLE_INTERVAL_MS);
 
+    public SkillTracker(GameClient client, Skill skill, long now, boolean active) {
+        this.client = client;
+        this.skill = skill;
+        this.activeStartTime = now;
+        this.active = active;
+        this.startExp = client.getSkills().getExperience(skill);
+        this.startLevel = client.getSkills().getStatic(skill);
+        samples.record(0, startExp);
+    }
 
-    public SkillTracker(Script script, Skill skill) {
-        this.script = script;
+    // Picks up a session tracked before a restart: gains and rates count from the earlier baseline, starting paused
+    public SkillTracker(GameClient client, Skill skill, int startExp, int startLevel, long activeTime) {
+        this.client = client;
         this.skill = skill;
-        this.activeStartTime = System.currentTimeMillis();
-        this.totalActiveTime = 0;
-        this.startExp = script.getSkills().getExperience(skill);
-        this.startLevel = script.getSkills().getStatic(skill);
+        this.totalActiveTime = activeTime;
+        this.startExp = startExp;
+        this.startLevel = startLevel;
+        samples.record(activeTime, client.getSkills().getExperience(skill));
     }
 
     public Skill getSkill() {
         return skill;
     }
 
+    public int getStartExp() {
+        return startExp;
+    }
+
+    public int getStartLevel() {
+        return startLevel;
+    }
+
+    public void pause(long now) {
+        if (active) {
+            totalActiveTime += now - activeStartTime;
+            active = false;
+        }
+    }
+
+    public void resume(long now) {
+        if (!active) {
+            activeStartTime = now;
+            active = true;
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public long getActiveTime(long now) {
+        return active ? totalActiveTime + (now - activeStartTime) : totalActiveTime;
+    }
+
+    public void recordExperience(int totalExp, long now) {
+        samples.record(getActiveTime(now), totalExp);
+    }
+
     public int getGainedExp() {
-        return script.getSkills().getExperience(skill) - startExp;
+        return client.getSkills().getExperience(skill) - startExp;
     }
 
     public int getGainedLevels() {
-        return script.getSkills().getStatic(skill) - startLevel;
+        return client.getSkills().getStatic(skill) - startLevel;
     }
 
+    // Session rate over all active time
     public int getExpPerHour() {
-        long timeElapsed = totalActiveTime + (System.currentTimeMillis() - activeStartTime);
+        long timeElapsed = getActiveTime(client.currentTime());
         if (timeElapsed == 0) return 0;
         return (int) ((getGainedExp() * 3600000D) / timeElapsed);
     }
 
-    public String getTimeToNextLevel() {
-        int expToNextLevel = script.getSkills().getExperienceForLevel(script.getSkills().getStatic(skill) + 1) - script.getSkills().getExperience(skill);
-        if (getExpPerHour() == 0) return "N/A";
-        long timeToNextLevel = (long) (expToNextLevel / (getExpPerHour() / 3600000D));
-        return formatTime(timeToNextLevel);
+    // Rate over the most recent windowMs of active time, falling back to the session rate
+    public int getExpPerHour(long windowMs) {
+        int rate = samples.getExpPerHour(windowMs, getActiveTime(client.currentTime()), client.getSkills().getExperience(skill));
+        return rate < 0 ? getExpPerHour() : rate;
     }
 
-    private String formatTime(long millis) {
-        long hours = millis / 3600000;
-        long mins = (millis % 3600000) / 60000;
-        long secs = (millis % 60000) / 1000;
-        return String.format("%02d:%02d:%02d", hours, mins, secs);
+    // Milliseconds until the next level at the current rate, or -1 when there is no rate yet
+    public long getTimeToNextLevel() {
+        int expToNextLevel = client.getSkills().getExperienceForLevel(client.getSkills().getStatic(skill) + 1) - client.getSkills().getExperience(skill);
+        int expPerHour = getExpPerHour();
+        if (expPerHour == 0) return -1;
+        return (long) (expToNextLevel / (expPerHour / 3600000D));
     }
 }
@@ -0,0 +1,78 @@
+package script.paint;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.client.GameClient;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+// One tracker per skill that has gained experience this session. Skills trained by a state only accumulate time while
+// that state is active; any other skill counts all the time. Only touched by the script thread.
+public class SkillTrackers implements XpDropListener {
+    private final GameClient client;
+    private final Map<Skill, SkillTracker> trackers = new EnumMap<>(Skill.class);
+    private final EnumSet<Skill> stateSkills = EnumSet.noneOf(Skill.class);
+    private Skill activeSkill;
+    private int version; // Bumped whenever a tracker is added
+
+    public SkillTrackers(GameClient client) {
+        this.client = client;
+    }
+
+    public void registerStateSkill(Skill skill) {
+        if (skill != null) {
+            stateSkills.add(skill);
+        }
+    }
+
+    public void setActiveSkill(Skill skill, long now) {
+        activeSkill = skill;
+        for (SkillTracker tracker : trackers.values()) {
+            if (isTrackedActive(tracker.getSkill())) {
+                tracker.resume(now);
+            } else {
+                tracker.pause(now);
+            }
+        }
+    }
+
+    // Null until the skill gains experience
+    public SkillTracker get(Skill skill) {
+        return trackers.get(skill);
+    }
+
+    public Iterable<SkillTracker> getAll() {
+        return trackers.values();
+    }
+
+    public int size() {
+        return trackers.size();
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    // Puts back a tracker saved before a restart, before the first state is entered
+    public void resume(SkillTracker tracker) {
+        trackers.put(tracker.getSkill(), tracker);
+        version++;
+    }
+
+    @Override
+    public void onXpDrop(Skill skill, int gainedExp, long timestamp) {
+        SkillTracker tracker = trackers.get(skill);
+        if (tracker == null) {
+            // Add a tracker the first time a skill gains experience
+            trackers.put(skill, new SkillTracker(client, skill, timestamp, isTrackedActive(skill)));
+            version++;
+        } else {
+            tracker.recordExperience(client.getSkills().getExperience(skill), timestamp);
+        }
+    }
+
+    private boolean isTrackedActive(Skill skill) {
+        return skill == activeSkill || !stateSkills.contains(skill);
+    }
+}
@@ -0,0 +1,19 @@
+package script.paint;
+
+public final class StatsSnapshot {
+    public static final StatsSnapshot EMPTY = new StatsSnapshot(new SkillStats[0]);
+
+    private final SkillStats[] skillStats;
+
+    StatsSnapshot(SkillStats[] skillStats) {
+        this.skillStats = skillStats;
+    }
+
+    public int getSkillCount() {
+        return skillStats.length;
+    }
+
+    public SkillStats getSkillStats(int index) {
+        return skillStats[index];
+    }
+}
@@ -0,0 +1,7 @@
+package script.paint;
+
+import org.osbot.rs07.api.ui.Skill;
+
+public interface XpDropListener {
+    void onXpDrop(Skill skill, int gainedExp, long timestamp);
+}
@@ -0,0 +1,51 @@
+package script.paint;
+
+// Fixed-size ring of (active time, total experience) samples for rolling rate windows
+public class XpSampleBuffer {
+    private final long[] activeTimes;
+    private final int[] experience;
+    private final long minSampleInterval;
+    private int head; // Index of the newest sample
+    private int count;
+
+    public XpSampleBuffer(int capacity, long minSampleInterval) {
+        this.activeTimes = new long[capacity];
+        this.experience = new int[capacity];
+        this.minSampleInterval = minSampleInterval;
+        this.head = -1;
+    }
+
+    public void record(long activeTime, int totalExp) {
+        // The newest sample is overwritten until it is far enough from the one before it
+        int previous = (head - 1 + activeTimes.length) % activeTimes.length;
+        if (count < 2 || activeTime - activeTimes[previous] >= minSampleInterval) {
+            head = (head + 1) % activeTimes.length;
+            if (count < activeTimes.length) {
+                count++;
+            }
+        }
+        activeTimes[head] = activeTime;
+        experience[head] = totalExp;
+    }
+
+    // Experience per hour over the last windowMs of active time, or -1 without enough samples
+    public int getExpPerHour(long windowMs, long currentActiveTime, int currentExp) {
+        if (count == 0) {
+            return -1;
+        }
+        long windowStart = currentActiveTime - windowMs;
+        int oldest = head;
+        for (int i = 1; i < count; i++) {
+            int index = (head - i + activeTimes.length) % activeTimes.length;
+            if (activeTimes[index] < windowStart) {
+                break;
+            }
+            oldest = index;
+        }
+        long elapsed = currentActiveTime - activeTimes[oldest];
+        if (elapsed <= 0) {
+            return -1;
+        }
+        return (int) ((currentExp - experience[oldest]) * 3600000D / elapsed);
+    }
+}
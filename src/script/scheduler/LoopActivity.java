@@ -0,0 +1,19 @@
+package script.scheduler;
+
+public enum LoopActivity {
+    IDLE(1),         // Nothing going on, react on the very next tick
+    ANIMATING(1),    // Skilling animation running, check once per tick for depletion
+    INTERACTING(1),  // Engaged with a target but not animating yet
+    WALKING(2),      // Moving across the map, nothing to react to every tick
+    BANKING(1);      // Bank interface actions, one check per tick is enough
+
+    private final int ticksBetweenWakeups;
+
+    LoopActivity(int ticksBetweenWakeups) {
+        this.ticksBetweenWakeups = ticksBetweenWakeups;
+    }
+
+    public int getTicksBetweenWakeups() {
+        return ticksBetweenWakeups;
+    }
+}
@@ -0,0 +1,124 @@
+package script.scheduler;
+
+import java.util.Random;
+
+public class LoopScheduler {
+    public static final int TICK_MS = 600;
+
+    // Wake shortly after the tick boundary so the client has applied the new game state
+    private static final int MIN_TICK_OFFSET_MS = 30;
+    private static final int MAX_TICK_OFFSET_MS = 90;
+    // Wider phase bounds than this are halved by a probe wakeup in their middle
+    private static final int PHASE_PRECISION_MS = 40;
+    // How far the bounds widen per tick, so server drift is caught by the next probe
+    private static final int PHASE_DRIFT_MS = 1;
+
+    private final LoopStats stats;
+    private final Random random;
+    private final TickClock tickClock;
+
+    private long lastIterationTime;
+    private int lastWorldFingerprint;
+    private LoopActivity lastActivity = LoopActivity.IDLE;
+
+    // Bounds on when a tick falls, modulo TICK_MS: phaseLower <= tick <= phaseUpper < phaseLower + TICK_MS
+    private long phaseLower;
+    private long phaseUpper;
+
+    // Shares the tick estimate with the client's wait engine
+    public LoopScheduler(TickClock tickClock, long now, Random random) {
+        this.random = random;
+        this.tickClock = tickClock;
+        this.stats = new LoopStats(now);
+        this.lastIterationTime = now;
+        this.phaseLower = now;
+        this.phaseUpper = now + TICK_MS - 1;
+    }
+
+    public void beginIteration(long now, LoopActivity activity, int worldFingerprint) {
+        stats.recordIteration(now);
+
+        // The game state only changes on a tick: a change since the last wakeup puts a tick in between, no change
+        // means there was none, or one that changed nothing. Either narrows the tick phase from one side. A change that
+        // does not fit the bounds means the phase moved, e.g. after a lag spike, so the bounds start over from it.
+        long interval = now - lastIterationTime;
+        widenPhase(interval);
+        if (interval > 0 && interval < TICK_MS) {
+            if (worldFingerprint != lastWorldFingerprint) {
+                if (!narrowPhase(lastIterationTime + 1, now)) {
+                    phaseLower = lastIterationTime + 1;
+                    phaseUpper = now;
+                }
+            } else {
+                narrowPhase(now + 1, lastIterationTime + TICK_MS);
+            }
+        }
+        // Anchored on the latest time the tick can fall at, so wakeups are not early
+        tickClock.setAnchor(phaseUpper);
+
+        // Time from the tick that ended the action to this iteration. Less than a tick after the last wakeup that is the
+        // tick the bounds were just narrowed to; after a longer gap the change may have come on any tick since, and the
+        // first of them gives the longest the reaction can have taken.
+        if (worldFingerprint != lastWorldFingerprint && activity == LoopActivity.IDLE && lastActivity == LoopActivity.ANIMATING) {
+            stats.recordReaction(Math.max(0, now - tickClock.nextTick(lastIterationTime)));
+        }
+
+        lastWorldFingerprint = worldFingerprint;
+        lastActivity = activity;
+        lastIterationTime = now;
+    }
+
+    public int nextDelay(long now, LoopActivity activity) {
+        long wakeup = tickClock.nextTick(now) + (long) (activity.getTicksBetweenWakeups() - 1) * TICK_MS;
+        wakeup += MIN_TICK_OFFSET_MS + random.nextInt(MAX_TICK_OFFSET_MS - MIN_TICK_OFFSET_MS + 1);
+        long width = phaseUpper - phaseLower;
+        if (width > PHASE_PRECISION_MS) {
+            // Whether the next tick has happened by the middle of the bounds tells which half it is in
+            long probe = tickClock.nextTick(now) - width / 2;
+            if (probe <= now) {
+                probe += TICK_MS;
+            }
+            wakeup = Math.min(wakeup, probe);
+        }
+        return (int) (wakeup - now);
+    }
+
+    private void widenPhase(long elapsed) {
+        long widening = Math.max(0, elapsed) * PHASE_DRIFT_MS / TICK_MS;
+        phaseLower -= widening;
+        phaseUpper += widening;
+        if (phaseUpper - phaseLower >= TICK_MS) {
+            phaseLower = phaseUpper - TICK_MS + 1;
+        }
+    }
+
+    // Intersects the phase bounds with [lower, upper] shifted by whole ticks; false, leaving the bounds as they were,
+    // when the two do not overlap. When they overlap at both ends the bounds are kept whole rather than split.
+    // Bounds that still cover a whole tick become [lower, upper].
+    private boolean narrowPhase(long lower, long upper) {
+        if (phaseUpper - phaseLower >= TICK_MS - 1) {
+            phaseLower = lower;
+            phaseUpper = upper;
+            return true;
+        }
+        long shift = Math.floorDiv(phaseUpper - lower, TICK_MS) * TICK_MS;
+        long upperPartLower = Math.max(phaseLower, lower + shift);
+        long upperPartUpper = Math.min(phaseUpper, upper + shift);
+        long lowerPartLower = Math.max(phaseLower, lower + shift - TICK_MS);
+        long lowerPartUpper = Math.min(phaseUpper, upper + shift - TICK_MS);
+        boolean upperPart = upperPartLower <= upperPartUpper;
+        boolean lowerPart = lowerPartLower <= lowerPartUpper;
+        if (upperPart && !lowerPart) {
+            phaseLower = upperPartLower;
+            phaseUpper = upperPartUpper;
+        } else if (lowerPart && !upperPart) {
+            phaseLower = lowerPartLower;
+            phaseUpper = lowerPartUpper;
+        }
+        return upperPart || lowerPart;
+    }
+
+    public LoopStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,49 @@
+package script.scheduler;
+
+public class LoopStats {
+    private static final long MINUTE_MS = 60000;
+
+    // Written by the script thread, read by the paint thread
+    private volatile int iterationsPerMinute;
+    private volatile int averageReactionLatency;
+    private volatile int maxReactionLatency;
+
+    private long minuteStartTime;
+    private int iterationsThisMinute;
+    private long totalReactionLatency;
+    private int reactionCount;
+
+    public LoopStats(long now) {
+        this.minuteStartTime = now;
+    }
+
+    void recordIteration(long now) {
+        if (now - minuteStartTime >= MINUTE_MS) {
+            iterationsPerMinute = (int) (iterationsThisMinute * MINUTE_MS / (now - minuteStartTime));
+            iterationsThisMinute = 0;
+            minuteStartTime = now;
+        }
+        iterationsThisMinute++;
+    }
+
+    void recordReaction(long latency) {
+        totalReactionLatency += latency;
+        reactionCount++;
+        averageReactionLatency = (int) (totalReactionLatency / reactionCount);
+        if (latency > maxReactionLatency) {
+            maxReactionLatency = (int) latency;
+        }
+    }
+
+    public int getIterationsPerMinute() {
+        return iterationsPerMinute;
+    }
+
+    public int getAverageReactionLatency() {
+        return averageReactionLatency;
+    }
+
+    public int getMaxReactionLatency() {
+        return maxReactionLatency;
+    }
+}
@@ -0,0 +1,178 @@
+package script.scheduler;
+
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.BotContext;
+import script.catalog.TrainingCatalog;
+import script.catalog.TrainingMethod;
+import script.client.ClientInventory;
+import script.client.GameClient;
+import script.paint.SkillTracker;
+import script.state.BotState;
+
+import java.util.List;
+
+// Picks the skill to train next from the account's goal levels. Each unfinished skill is costed as its estimated time
+// to goal, from the measured XP/h where there is one, plus a bank trip to re-gear for it unless its loadout is already
+// carried, and the cheapest one is trained. Every skill has to be trained to its goal anyway, so the total time only
+// grows with the switches; picking the cheapest keeps the current skill, which needs no trip, until another one is
+// closer to its goal by more than the trip, and a skill once picked stays the cheapest as it trains. A switch that
+// needs a trip waits for a switch point: the player standing in a bank, or an inventory holding nothing but the
+// current skill's loadout, so there is nothing to bank on the way. Until then the current skill is trained on, past
+// its goal if need be. Once every goal is reached the script stops.
+public class SkillScheduler {
+    // Walking speed; running is twice as fast but run energy does not last a long trip
+    private static final int MS_PER_TILE = 600;
+    // Opening the bank, depositing and withdrawing a loadout
+    private static final long BANK_VISIT_MS = 15000;
+
+    private final TrainingCatalog catalog;
+    private final int[] slotIds = new int[ClientInventory.SIZE];
+    private final int[] slotAmounts = new int[ClientInventory.SIZE];
+
+    public SkillScheduler(TrainingCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    // current may be null before the first state is picked; returns current when every goal is reached
+    public BotState pickNext(BotContext context, List<BotState> states, BotState current) {
+        GameClient client = context.getClient();
+        long bankTripMs = -1;
+        BotState best = null;
+        long bestCostMs = Long.MAX_VALUE;
+        boolean bestCarried = false;
+        for (BotState state : states) {
+            Skill skill = state.getTrainedSkill();
+            long remainingMs = estimateTimeToGoal(context, skill);
+            if (remainingMs <= 0) {
+                continue;
+            }
+            boolean carried = state == current || isCarryingLoadout(client, skill);
+            if (!carried && bankTripMs < 0) {
+                bankTripMs = estimateBankTrip(context);
+            }
+            long costMs = carried ? remainingMs : remainingMs + bankTripMs;
+            if (costMs < bestCostMs) {
+                best = state;
+                bestCostMs = costMs;
+                bestCarried = carried;
+            }
+        }
+        if (best == null) {
+            context.log("Every skill has reached its goal level, stopping");
+            client.logOutAndStop();
+            return current != null ? current : states.get(0);
+        }
+        if (best == current) {
+            return current;
+        }
+        if (current != null && !bestCarried && !isSwitchPoint(context, current.getTrainedSkill())) {
+            // Keep training until the next bank visit instead of making one for the switch
+            return current;
+        }
+        context.log(describePlan(context, states) + " next " + best.getTrainedSkill());
+        return best;
+    }
+
+    // Milliseconds to walk to the nearest bank, use it and walk back
+    public long estimateBankTrip(BotContext context) {
+        Position position = context.getClient().getPlayer().getPosition();
+        if (position == null) {
+            return BANK_VISIT_MS;
+        }
+        return 2L * context.getBankLocator().getNearestBankCost(position) * MS_PER_TILE + BANK_VISIT_MS;
+    }
+
+    // Milliseconds of training left to the goal level, 0 once it is reached
+    public long estimateTimeToGoal(BotContext context, Skill skill) {
+        GameClient client = context.getClient();
+        int level = client.getSkills().getStatic(skill);
+        if (catalog.isGoalReached(skill, level)) {
+            return 0;
+        }
+        int goalLevel = catalog.getGoalLevel(skill);
+        TrainingMethod method = catalog.select(skill, level);
+        int exp = client.getSkills().getExperience(skill);
+        SkillTracker tracker = context.getSkillTracker(skill);
+        int measuredExpPerHour = tracker != null ? tracker.getExpPerHour(SkillTracker.FIFTEEN_MINUTES) : 0;
+
+        long totalMs = 0;
+        boolean firstMethod = true;
+        while (level < goalLevel && method != null) {
+            TrainingMethod next = catalog.next(method);
+            int endLevel = next != null ? Math.min(next.getMinLevel(), goalLevel) : goalLevel;
+            int endExp = client.getSkills().getExperienceForLevel(endLevel);
+            int expPerHour = firstMethod && measuredExpPerHour > 0 ? measuredExpPerHour : method.getExpectedExpPerHour();
+            totalMs += (long) (Math.max(0, endExp - exp) * 3600000D / Math.max(1, expPerHour));
+            exp = Math.max(exp, endExp);
+            level = endLevel;
+            method = next;
+            firstMethod = false;
+        }
+        return Math.max(1, totalMs);
+    }
+
+    // Only built when a switch is logged
+    private String describePlan(BotContext context, List<BotState> states) {
+        StringBuilder plan = new StringBuilder("Skill plan:");
+        for (BotState state : states) {
+            long remainingMs = estimateTimeToGoal(context, state.getTrainedSkill());
+            plan.append(' ').append(state.getTrainedSkill()).append(' ');
+            if (remainingMs <= 0) {
+                plan.append("done,");
+            } else {
+                plan.append(remainingMs / 360000 / 10D).append(" h,");
+            }
+        }
+        return plan.toString();
+    }
+
+    // Whether leaving the skill now costs no extra bank trip: the inventory holds nothing but the skill's loadout and
+    // tools, such as an axe carried rather than wielded
+    private boolean isSwitchPoint(BotContext context, Skill skill) {
+        GameClient client = context.getClient();
+        if (context.getBankLocator().isAtBank(client.getPlayer().getPosition())) {
+            return true;
+        }
+        TrainingMethod method = catalog.select(skill, client.getSkills().getStatic(skill));
+        int used = client.getInventory().readItems(slotIds, slotAmounts);
+        for (int i = 0; i < slotIds.length && used > 0; i++) {
+            if (slotIds[i] >= 0) {
+                used--;
+                if (!catalog.isTool(skill, slotIds[i]) && (method == null || !contains(method.getLoadoutIds(), slotIds[i]))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] itemIds, int itemId) {
+        for (int id : itemIds) {
+            if (id == itemId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whether switching to the skill could start without a bank trip
+    private boolean isCarryingLoadout(GameClient client, Skill skill) {
+        int level = client.getSkills().getStatic(skill);
+        TrainingMethod method = catalog.select(skill, level);
+        if (method == null) {
+            return true;
+        }
+        for (int itemId : method.getLoadoutIds()) {
+            if (!isCarried(client, itemId)) {
+                return false;
+            }
+        }
+        int toolId = catalog.getToolId(skill, level);
+        return toolId < 0 || isCarried(client, toolId);
+    }
+
+    private static boolean isCarried(GameClient client, int itemId) {
+        return client.getInventory().contains(itemId) || client.getEquipment().contains(itemId);
+    }
+}
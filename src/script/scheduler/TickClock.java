@@ -0,0 +1,24 @@
+package script.scheduler;
+
+// Estimated phase of the game tick, kept by the loop scheduler and read by the wait engine so both wake just after
+// the client has applied a new game state
+public class TickClock {
+    private long anchor;
+
+    public TickClock(long anchor) {
+        this.anchor = anchor;
+    }
+
+    public long getAnchor() {
+        return anchor;
+    }
+
+    void setAnchor(long anchor) {
+        this.anchor = anchor;
+    }
+
+    // First tick boundary after now
+    public long nextTick(long now) {
+        return anchor + (Math.floorDiv(now - anchor, LoopScheduler.TICK_MS) + 1) * LoopScheduler.TICK_MS;
+    }
+}
@@ -0,0 +1,41 @@
+package script.scheduler;
+
+import script.client.GameClient;
+
+// Something a wait ends on. Conditions are built once and reused across waits, so the polling loop allocates nothing;
+// event conditions remember what they compare against in begin, which the engine calls when a wait starts.
+public interface WaitCondition {
+    boolean test(GameClient client);
+
+    default void begin(GameClient client) {
+    }
+
+    static WaitCondition any(WaitCondition... conditions) {
+        return new AnyOf(conditions);
+    }
+
+    final class AnyOf implements WaitCondition {
+        private final WaitCondition[] conditions;
+
+        private AnyOf(WaitCondition[] conditions) {
+            this.conditions = conditions.clone();
+        }
+
+        @Override
+        public boolean test(GameClient client) {
+            for (WaitCondition condition : conditions) {
+                if (condition.test(client)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void begin(GameClient client) {
+            for (WaitCondition condition : conditions) {
+                condition.begin(client);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package script.scheduler;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.client.ClientInventory;
+import script.client.GameClient;
+import script.paint.ExperienceTracker;
+import script.paint.XpDropListener;
+
+import java.util.Arrays;
+
+// Conditions the strategies wait on. The stateless ones are shared constants; the event ones hold what they saw when
+// the wait began, so each owner builds its own once and keeps it in a field.
+public final class WaitConditions {
+    public static final WaitCondition ANIMATING = client -> client.getPlayer().isAnimating();
+    public static final WaitCondition BANK_OPEN = client -> client.getBank().isOpen();
+    public static final WaitCondition BANK_CLOSED = client -> !client.getBank().isOpen();
+    public static final WaitCondition DEPOSIT_BOX_OPEN = client -> client.getDepositBox().isOpen();
+    public static final WaitCondition DEPOSIT_BOX_CLOSED = client -> !client.getDepositBox().isOpen();
+
+    private WaitConditions() {
+    }
+
+    // Holds once any slot's item or amount differs from the start of the wait
+    public static WaitCondition inventoryChanged() {
+        return new WaitCondition() {
+            private final int[] startIds = new int[ClientInventory.SIZE];
+            private final int[] startAmounts = new int[ClientInventory.SIZE];
+            private final int[] ids = new int[ClientInventory.SIZE];
+            private final int[] amounts = new int[ClientInventory.SIZE];
+
+            @Override
+            public void begin(GameClient client) {
+                client.getInventory().readItems(startIds, startAmounts);
+            }
+
+            @Override
+            public boolean test(GameClient client) {
+                client.getInventory().readItems(ids, amounts);
+                return !Arrays.equals(ids, startIds) || !Arrays.equals(amounts, startAmounts);
+            }
+        };
+    }
+
+    // Holds once the tracker reports an experience drop for the skill after the start of the wait. Each test polls the
+    // tracker, so the drop reaches its other listeners as soon as the wait sees it.
+    public static WaitCondition experienceGained(ExperienceTracker tracker, Skill skill) {
+        ExperienceGained condition = new ExperienceGained(tracker, skill);
+        tracker.addListener(condition);
+        return condition;
+    }
+
+    private static final class ExperienceGained implements WaitCondition, XpDropListener {
+        private final ExperienceTracker tracker;
+        private final Skill skill;
+        private boolean gained;
+
+        private ExperienceGained(ExperienceTracker tracker, Skill skill) {
+            this.tracker = tracker;
+            this.skill = skill;
+        }
+
+        @Override
+        public void begin(GameClient client) {
+            tracker.poll(client.currentTime());
+            gained = false;
+        }
+
+        @Override
+        public boolean test(GameClient client) {
+            tracker.poll(client.currentTime());
+            return gained;
+        }
+
+        @Override
+        public void onXpDrop(Skill droppedSkill, int gainedExp, long timestamp) {
+            if (droppedSkill == skill) {
+                gained = true;
+            }
+        }
+    }
+}
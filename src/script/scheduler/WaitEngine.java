@@ -0,0 +1,63 @@
+package script.scheduler;
+
+import script.client.GameClient;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Runs every wait in the script. The game state only changes on a tick, so conditions are checked once per tick just
+// after the boundary instead of at a fixed interval, and each labelled wait keeps a histogram of how long it took.
+public class WaitEngine {
+    private static final int POLL_OFFSET_MS = 60; // After the tick boundary, like the loop scheduler's wakeups
+
+    private final GameClient client;
+    private final TickClock tickClock;
+    private final Map<String, WaitHistogram> histograms = new LinkedHashMap<>();
+
+    public WaitEngine(GameClient client, TickClock tickClock) {
+        this.client = client;
+        this.tickClock = tickClock;
+    }
+
+    // Returns true once the condition holds, or false when the timeout passes. An interrupted wait is not recorded.
+    public boolean until(String label, WaitCondition condition, int timeout) throws InterruptedException {
+        long start = client.currentTime();
+        long deadline = start + timeout;
+        condition.begin(client);
+        boolean satisfied = condition.test(client);
+        while (!satisfied) {
+            long now = client.currentTime();
+            if (now >= deadline) {
+                break;
+            }
+            long wakeup = Math.min(tickClock.nextTick(now - POLL_OFFSET_MS) + POLL_OFFSET_MS, deadline);
+            client.sleep(wakeup - now);
+            satisfied = condition.test(client);
+        }
+        getHistogram(label).record(client.currentTime() - start, satisfied);
+        return satisfied;
+    }
+
+    // Records a pause timed outside the engine, so it is reported along with the waits
+    public void record(String label, long elapsedMs) {
+        getHistogram(label).record(elapsedMs, true);
+    }
+
+    public TickClock getTickClock() {
+        return tickClock;
+    }
+
+    public Map<String, WaitHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    private WaitHistogram getHistogram(String label) {
+        WaitHistogram histogram = histograms.get(label);
+        if (histogram == null) {
+            histogram = new WaitHistogram();
+            histograms.put(label, histogram);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,53 @@
+package script.scheduler;
+
+// How long one kind of wait took, in whole ticks, plus how often it timed out
+public class WaitHistogram {
+    private static final int BUCKETS = 16; // The last bucket holds everything from 15 ticks up
+
+    private final int[] counts = new int[BUCKETS];
+    private int count;
+    private int timeouts;
+    private long totalMs;
+
+    void record(long elapsedMs, boolean satisfied) {
+        if (!satisfied) {
+            timeouts++;
+            return;
+        }
+        counts[(int) Math.min(BUCKETS - 1, elapsedMs / LoopScheduler.TICK_MS)]++;
+        count++;
+        totalMs += elapsedMs;
+    }
+
+    // Waits that ended because the condition held
+    public int getCount() {
+        return count;
+    }
+
+    public int getTimeouts() {
+        return timeouts;
+    }
+
+    public int getAverageMs() {
+        return count > 0 ? (int) (totalMs / count) : 0;
+    }
+
+    // Smallest number of ticks that covers the given fraction of satisfied waits
+    public int getPercentileTicks(double fraction) {
+        int target = (int) Math.ceil(count * fraction);
+        int seen = 0;
+        for (int ticks = 0; ticks < BUCKETS; ticks++) {
+            seen += counts[ticks];
+            if (seen >= target) {
+                return ticks;
+            }
+        }
+        return BUCKETS - 1;
+    }
+
+    @Override
+    public String toString() {
+        return count + " done, " + timeouts + " timed out, avg " + getAverageMs() + " ms, p50 " + getPercentileTicks(0.5)
+                + " ticks, p90 " + getPercentileTicks(0.9) + " ticks";
+    }
+}
@@ -1,27 +1,46 @@
 package script.state;
 
-import script.MainScript;
+import org.osbot.rs07.api.ui.Skill;
+import script.BotContext;
+import script.scheduler.LoopActivity;
 import script.strategy.TaskStrategy;
+import script.world.WorldSnapshot;
 
 public class BankingState implements BotState {
     private final TaskStrategy bankingStrategy;
     private final BotState returnState; // State to return to after banking
 
-    public BankingState(MainScript script, TaskStrategy bankingStrategy, BotState returnState) {
+    public BankingState(BotContext context, TaskStrategy bankingStrategy, BotState returnState) {
         this.bankingStrategy = bankingStrategy;
         this.returnState = returnState;
-        script.log("Entering banking state");
+        context.log("Entering banking state");
     }
 
     @Override
-    public void execute(MainScript script) throws InterruptedException {
-        script.log("Executing banking strategy");
-        bankingStrategy.execute(script);
+    public void execute(BotContext context, WorldSnapshot snapshot) throws InterruptedException {
+        context.log("Executing banking strategy");
+        bankingStrategy.execute(context.getClient(), snapshot);
     }
 
     @Override
-    public BotState nextState(MainScript script) {
-        script.log("Returning to previous state after banking");
+    public BotState nextState(BotContext context) {
+        context.log("Returning to previous state after banking");
         return returnState;
     }
+
+    @Override
+    public Skill getTrainedSkill() {
+        // Bank trips made on behalf of a skill count towards that skill's throughput
+        return returnState.getTrainedSkill();
+    }
+
+    @Override
+    public long getSessionEnd() {
+        return returnState.getSessionEnd();
+    }
+
+    @Override
+    public LoopActivity getActivity(WorldSnapshot snapshot) {
+        return LoopActivity.BANKING;
+    }
 }
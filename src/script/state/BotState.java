@@ -1,8 +1,32 @@
 package script.state;
 
-import script.MainScript;
+import org.osbot.rs07.api.ui.Skill;
+import script.BotContext;
+import script.scheduler.LoopActivity;
+import script.world.WorldSnapshot;
 
 public interface BotState {
-    void execute(MainScript script) throws InterruptedException;
-    BotState nextState(MainScript script);
+    void execute(BotContext context, WorldSnapshot snapshot) throws InterruptedException;
+    BotState nextState(BotContext context);
+
+    // Called when the bot moves to this state from one training a different skill
+    default void onEnter(BotContext context) {
+    }
+
+    // Called instead of onEnter when a restarted script goes back to the state it was in, with the saved session end
+    default void onResume(BotContext context, long sessionEnd) {
+        onEnter(context);
+    }
+
+    // When the state hands over to the next skill, or 0 when it has no session of its own
+    default long getSessionEnd() {
+        return 0;
+    }
+
+    // Skill whose tracker should be running while this state is active, or null for none
+    Skill getTrainedSkill();
+
+    default LoopActivity getActivity(WorldSnapshot snapshot) {
+        return snapshot.getActivity();
+    }
 }
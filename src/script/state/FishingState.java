@@ -1,100 +1,161 @@
 package script.state;
 
 import org.osbot.rs07.api.ui.Skill;
-import script.MainScript;
+import script.BotContext;
+import script.catalog.TrainingCatalog;
+import script.catalog.TrainingMethod;
+import script.strategy.banking.BankRequest;
+import script.strategy.banking.EquipmentPlanner;
+import script.strategy.banking.SupplyBudget;
 import script.strategy.banking.SwitchStateOrEquipmentBankingStrategy;
 import script.strategy.TaskStrategy;
-import script.strategy.fishing.FlyFishingStrategy;
-import script.strategy.fishing.LobsterPotFishingStrategy;
-import script.strategy.fishing.SmallNetFishingStrategy;
+import script.strategy.TieredStrategyRegistry;
+import script.strategy.fishing.FishingSpotStrategy;
+import script.world.WorldSnapshot;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 
 public class FishingState implements BotState {
+    private final TrainingCatalog catalog;
+    private final TieredStrategyRegistry strategies = new TieredStrategyRegistry();
     private TaskStrategy strategy;
-    private final long switchTime;
-
-    // Fishing item IDs
-    private static final int SMALL_FISHING_NET_ID = 303;
-    private static final int FLY_FISHING_ROD_ID = 309;
-    private static final int FEATHER_ID = 314;
-    private static final int LOBSTER_POT_ID = 301;
+    private long switchTime;
+
+    public FishingState(BotContext context) {
+        this.catalog = context.getTrainingCatalog();
+        // Each method carries the next one's loadout along so staged items survive its drops
+        for (TrainingMethod method : catalog.getMethods(Skill.FISHING)) {
+            TrainingMethod next = catalog.next(method);
+            int[] stagedItemIds = next != null ? next.getLoadoutIds() : new int[0];
+            strategies.register(method.getMinLevel(), level -> new FishingSpotStrategy(context.getExperienceTracker(), method, stagedItemIds));
+            context.getBankLocator().prime(method.getArea());
+        }
+        updateStrategy(context.getClient().getSkills().getStatic(Skill.FISHING));
+    }
 
-    private static final int COINS_ID = 995;
+    @Override
+    public void onEnter(BotContext context) {
+        startSession(context);
+        context.log("Entering fishing state");
+    }
 
-    private final Random random = new Random();
+    @Override
+    public void onResume(BotContext context, long sessionEnd) {
+        this.switchTime = sessionEnd;
+        context.log("Resuming fishing state");
+    }
 
-    public FishingState(MainScript script) {
-        updateStrategy(script);
-        long startTime = System.currentTimeMillis();
-        this.switchTime = startTime + (long) (3600000 + Math.random() * 3600000);
-        script.log("Entering fishing state");
+    @Override
+    public long getSessionEnd() {
+        return switchTime;
     }
 
     @Override
-    public void execute(MainScript script) throws InterruptedException {
-        if (!checkFishingEquipment(script)) {
+    public void execute(BotContext context, WorldSnapshot snapshot) throws InterruptedException {
+        if (!checkFishingEquipment(context, snapshot)) {
             return;
         }
-        updateStrategy(script);
-        strategy.execute(script);
+        updateStrategy(snapshot.getStaticLevel(Skill.FISHING));
+        strategy.execute(context.getClient(), snapshot);
     }
 
-    private void updateStrategy(MainScript script) {
-        int fishingLevel = script.getSkills().getStatic(Skill.FISHING);
-        if (fishingLevel < 20) {
-            this.strategy = new SmallNetFishingStrategy(SMALL_FISHING_NET_ID);
-        } else if (fishingLevel < 40) {
-            this.strategy = new FlyFishingStrategy(FLY_FISHING_ROD_ID, FEATHER_ID);
-        } else {
-            this.strategy = new LobsterPotFishingStrategy(LOBSTER_POT_ID, COINS_ID);
-        }
+    private void updateStrategy(int fishingLevel) {
+        this.strategy = strategies.select(fishingLevel);
     }
 
-    private boolean checkFishingEquipment(MainScript script) {
-        int fishingLevel = script.getSkills().getStatic(Skill.FISHING);
-
-        if (fishingLevel < 20 && !script.getInventory().contains(SMALL_FISHING_NET_ID)) {
-            switchToBankingStateForFishingEquipment(script, SMALL_FISHING_NET_ID);
-            return false;
-        } else if (fishingLevel < 40 && (!script.getInventory().contains(FLY_FISHING_ROD_ID) || !script.getInventory().contains(FEATHER_ID))) {
-            switchToBankingStateForFishingEquipment(script, FLY_FISHING_ROD_ID, FEATHER_ID) ;
-            return false;
-        } else if (fishingLevel >= 40 && (!script.getInventory().contains(LOBSTER_POT_ID) || !script.getInventory().contains(COINS_ID))) {
-            switchToBankingStateForFishingEquipment(script, LOBSTER_POT_ID, COINS_ID);
-            return false;
+    private boolean checkFishingEquipment(BotContext context, WorldSnapshot snapshot) {
+        TrainingMethod method = catalog.select(Skill.FISHING, snapshot.getStaticLevel(Skill.FISHING));
+        for (int toolId : method.getToolIds()) {
+            if (!snapshot.inventoryContains(toolId)) {
+                switchToBankingStateForFishingEquipment(context, snapshot, method);
+                return false;
+            }
+        }
+        for (SupplyBudget budget : method.getSupplies()) {
+            if (isResupplyDue(context, snapshot, budget)) {
+                switchToBankingStateForFishingEquipment(context, snapshot, method);
+                return false;
+            }
         }
         return true;
     }
 
-    private void switchToBankingStateForFishingEquipment(MainScript script, int... itemIds) {
-        script.log("Switching to banking state for fishing equipment");
-        Map<Integer, Integer> requiredItemsForFishing = new HashMap<>();
-        for (int itemId : itemIds) {
-            int quantity = 1; // Default quantity for most items
+    private boolean isResupplyDue(BotContext context, WorldSnapshot snapshot, SupplyBudget budget) {
+        int carried = snapshot.getInventoryAmount(budget.getItemId());
+        if (carried > 0 && !context.getBankCache().probablyContains(budget.getItemId())) {
+            // Likely nothing left to top up from, so use up what is carried first
+            return false;
+        }
+        int expPerHour = budget.getExpPerHour(context.getSkillTracker(Skill.FISHING));
+        return budget.isResupplyDue(carried, expPerHour, switchTime - snapshot.getTime());
+    }
 
-            // Apply random quantity only to feathers and coins
-            if (itemId == FEATHER_ID || itemId == COINS_ID) {
-                // Generate a random quantity between 100,000 and 1,000,000
-                quantity = random.nextInt(900001) + 100000; // (max - min + 1) + min
-            }
+    private void switchToBankingStateForFishingEquipment(BotContext context, WorldSnapshot snapshot, TrainingMethod method) {
+        int unobtainableItemId = context.getBankCache().findUnobtainable(snapshot, method.getLoadoutIds());
+        if (unobtainableItemId >= 0) {
+            // The trip would end in a logout anyway, so skip the walk
+            context.log("Bank has no item " + unobtainableItemId + ", logging out");
+            context.getClient().logOutAndStop();
+            return;
+        }
+        context.log("Switching to banking state for fishing equipment");
+        TrainingMethod next = catalog.next(method);
+        Map<Integer, Integer> nextLoadout = null;
+        if (next != null && EquipmentPlanner.isStagingDue(snapshot.getStaticLevel(Skill.FISHING), next.getMinLevel())) {
+            nextLoadout = createLoadout(context, next);
+        }
+        Map<Integer, Integer> loadout = createLoadout(context, method);
+        BankRequest.Builder builder = EquipmentPlanner.plan(snapshot, loadout, nextLoadout).equip(loadout.keySet());
+        // Consumables take whatever the bank has left instead of failing the trip
+        for (SupplyBudget budget : method.getSupplies()) {
+            builder.supply(budget.getItemId(), loadout.get(budget.getItemId()));
+        }
+        BankRequest request = builder.build();
+        context.setCurrentState(new BankingState(context, new SwitchStateOrEquipmentBankingStrategy(context.getBankCache(), context.getBankLocator(), request), this));
+    }
 
-            requiredItemsForFishing.put(itemId, quantity);
+    // One of each tool, and supplies for the rest of the session at the current fishing rate
+    private Map<Integer, Integer> createLoadout(BotContext context, TrainingMethod method) {
+        Map<Integer, Integer> loadout = new HashMap<>();
+        for (int toolId : method.getToolIds()) {
+            loadout.put(toolId, 1);
+        }
+        for (SupplyBudget budget : method.getSupplies()) {
+            loadout.put(budget.getItemId(), getSupplyAmount(context, budget));
         }
-        script.setCurrentState(new BankingState(script, new SwitchStateOrEquipmentBankingStrategy(requiredItemsForFishing), this));
+        return loadout;
+    }
+
+    private int getSupplyAmount(BotContext context, SupplyBudget budget) {
+        int expPerHour = budget.getExpPerHour(context.getSkillTracker(Skill.FISHING));
+        return budget.getWithdrawAmount(expPerHour, switchTime - context.getClient().currentTime());
     }
 
     @Override
-    public BotState nextState(MainScript script) {
-        if (shouldSwitchToAnotherState()) {
-            return script.pickRandomState(this);
+    public BotState nextState(BotContext context) {
+        boolean sessionOver = shouldSwitchToAnotherState(context);
+        if (sessionOver || catalog.isGoalReached(Skill.FISHING, context.getClient().getSkills().getStatic(Skill.FISHING))) {
+            BotState next = context.pickNextState(this);
+            if (next == this && sessionOver) {
+                startSession(context);
+            }
+            return next;
         }
         return this;
     }
 
-    private boolean shouldSwitchToAnotherState() {
-        return System.currentTimeMillis() > switchTime;
+    @Override
+    public Skill getTrainedSkill() {
+        return Skill.FISHING;
+    }
+
+    // Supplies are planned one to two hours ahead; the scheduler is asked again when that runs out
+    private void startSession(BotContext context) {
+        this.switchTime = context.getClient().currentTime() + context.getClient().random(3600000, 7200000);
+    }
+
+    private boolean shouldSwitchToAnotherState(BotContext context) {
+        return context.getClient().currentTime() > switchTime;
     }
 }
@@ -0,0 +1,211 @@
+package script.state;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.client.AccountFiles;
+import script.client.GameClient;
+import script.paint.SkillTracker;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Per-account record of the session, so a restarted script picks up the skill it was training, the time left on that
+// session and the skill trackers' baselines instead of starting over. Records are appended one line at a time, so a
+// crash loses at most the line being written, which replay skips. The file is rewritten with only the latest records
+// once it grows past a few hundred lines, through a temporary file so a crash while compacting keeps the old one.
+//
+//   S <time> <skill> <sessionEnd>                              state entered or session restarted
+//   X <time> <skill> <startExp> <startLevel> <activeTime> <exp> skill tracker snapshot
+public class SessionJournal {
+    private static final int COMPACT_LINES = 512;
+    // Past this the account was likely played elsewhere, or the break was meant, so a new session starts
+    private static final long MAX_RESUME_GAP_MS = 30 * 60000;
+
+    // Skill tracker baseline as last recorded
+    public static final class TrackerRecord {
+        private final int startExp;
+        private final int startLevel;
+        private final long activeTime;
+        private final int exp;
+
+        TrackerRecord(int startExp, int startLevel, long activeTime, int exp) {
+            this.startExp = startExp;
+            this.startLevel = startLevel;
+            this.activeTime = activeTime;
+            this.exp = exp;
+        }
+
+        public int getStartExp() {
+            return startExp;
+        }
+
+        public int getStartLevel() {
+            return startLevel;
+        }
+
+        public long getActiveTime() {
+            return activeTime;
+        }
+    }
+
+    private final File file;
+    private final Map<Skill, TrackerRecord> trackers = new EnumMap<>(Skill.class);
+    private Skill stateSkill;
+    private long sessionEnd;
+    private long lastRecordTime;
+    private int lines;
+
+    public SessionJournal(File file) {
+        this.file = file;
+    }
+
+    // Journal for the logged in account under the client's data directory, or null when there is nowhere to keep it
+    public static File fileFor(GameClient client) {
+        return AccountFiles.forAccount(client, "session-", ".log");
+    }
+
+    // Reads the journal and keeps what can be resumed: nothing when it is too old, and no tracker whose skill has
+    // less experience now than recorded. Compacts the file afterwards.
+    public void replay(GameClient client) {
+        if (file == null || !file.isFile()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                try {
+                    apply(line.trim().split(" "));
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    client.log("Skipping bad session journal line " + lines);
+                }
+            }
+        } catch (IOException e) {
+            client.log("Could not read session journal: " + e.getMessage());
+            return;
+        }
+        if (client.currentTime() - lastRecordTime > MAX_RESUME_GAP_MS) {
+            stateSkill = null;
+            trackers.clear();
+        }
+        trackers.entrySet().removeIf(entry -> client.getSkills().getExperience(entry.getKey()) < entry.getValue().exp);
+        compact(client);
+    }
+
+    // Skill of the state to resume, or null to pick a new one
+    public Skill getStateSkill() {
+        return stateSkill;
+    }
+
+    public long getSessionEnd() {
+        return sessionEnd;
+    }
+
+    // Baseline to resume the skill's tracker from, or null to start a fresh one
+    public TrackerRecord getTracker(Skill skill) {
+        return trackers.get(skill);
+    }
+
+    public void recordState(GameClient client, Skill skill, long sessionEnd) {
+        this.stateSkill = skill;
+        this.sessionEnd = sessionEnd;
+        append(client, "S " + client.currentTime() + " " + skill + " " + sessionEnd);
+    }
+
+    public void recordTrackers(GameClient client, Iterable<SkillTracker> skillTrackers) {
+        long now = client.currentTime();
+        StringBuilder records = new StringBuilder();
+        for (SkillTracker tracker : skillTrackers) {
+            Skill skill = tracker.getSkill();
+            TrackerRecord record = new TrackerRecord(tracker.getStartExp(), tracker.getStartLevel(),
+                    tracker.getActiveTime(now), client.getSkills().getExperience(skill));
+            trackers.put(skill, record);
+            if (records.length() > 0) {
+                records.append('\n');
+            }
+            appendTracker(records, now, skill, record);
+        }
+        if (records.length() > 0) {
+            append(client, records.toString());
+        }
+    }
+
+    private void apply(String[] fields) {
+        long time = Long.parseLong(fields[1]);
+        Skill skill = Skill.valueOf(fields[2]);
+        if (fields[0].equals("S")) {
+            sessionEnd = Long.parseLong(fields[3]);
+            stateSkill = skill;
+        } else if (fields[0].equals("X")) {
+            trackers.put(skill, new TrackerRecord(Integer.parseInt(fields[3]), Integer.parseInt(fields[4]),
+                    Long.parseLong(fields[5]), Integer.parseInt(fields[6])));
+        } else {
+            throw new IllegalArgumentException(fields[0]);
+        }
+        lastRecordTime = Math.max(lastRecordTime, time);
+    }
+
+    private static void appendTracker(StringBuilder records, long time, Skill skill, TrackerRecord record) {
+        records.append("X ").append(time).append(' ').append(skill).append(' ').append(record.startExp).append(' ')
+                .append(record.startLevel).append(' ').append(record.activeTime).append(' ').append(record.exp);
+    }
+
+    private void append(GameClient client, String records) {
+        if (file == null) {
+            return;
+        }
+        if (lines >= COMPACT_LINES) {
+            compact(client);
+        }
+        if (!AccountFiles.ensureDirectory(client, file)) {
+            return;
+        }
+        try (OutputStream out = new FileOutputStream(file, true)) {
+            out.write((records + "\n").getBytes(StandardCharsets.UTF_8));
+            lines += records.split("\n").length;
+        } catch (IOException e) {
+            client.log("Could not write session journal: " + e.getMessage());
+        }
+    }
+
+    // Rewrites the journal with the latest state and one snapshot per tracker
+    private void compact(GameClient client) {
+        if (!AccountFiles.ensureDirectory(client, file)) {
+            return;
+        }
+        long now = client.currentTime();
+        StringBuilder records = new StringBuilder();
+        if (stateSkill != null) {
+            records.append("S ").append(now).append(' ').append(stateSkill).append(' ').append(sessionEnd).append('\n');
+        }
+        for (Map.Entry<Skill, TrackerRecord> entry : trackers.entrySet()) {
+            appendTracker(records, now, entry.getKey(), entry.getValue());
+            records.append('\n');
+        }
+        File compacted = new File(file.getPath() + ".tmp");
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(compacted), StandardCharsets.UTF_8)) {
+            out.write(records.toString());
+        } catch (IOException e) {
+            client.log("Could not compact session journal: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            client.log("Could not replace session journal: " + e.getMessage());
+            return;
+        }
+        lines = (stateSkill != null ? 1 : 0) + trackers.size();
+    }
+}
@@ -1,103 +1,141 @@
 package script.state;
 
 import org.osbot.rs07.api.ui.Skill;
-import script.MainScript;
+import script.BotContext;
+import script.catalog.TrainingCatalog;
+import script.catalog.TrainingMethod;
+import script.strategy.banking.BankRequest;
 import script.strategy.banking.DepositAllBankingStrategy;
+import script.strategy.banking.EquipmentPlanner;
 import script.strategy.banking.SwitchStateOrEquipmentBankingStrategy;
 import script.strategy.TaskStrategy;
-import script.strategy.woodcutting.OakWoodcuttingStrategy;
-import script.strategy.woodcutting.TreeWoodcuttingStrategy;
-import script.strategy.woodcutting.YewWoodcuttingStrategy;
+import script.strategy.TieredStrategyRegistry;
+import script.strategy.woodcutting.WoodcuttingStrategy;
+import script.world.WorldSnapshot;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 
 public class WoodcuttingState implements BotState {
+    private final TrainingCatalog catalog;
+    private final TieredStrategyRegistry strategies = new TieredStrategyRegistry();
     private TaskStrategy strategy;
-    private final long switchTime;
-
-    // Axe item IDs
-    private static final int BRONZE_AXE_ID = 1351;
-    private static final int STEEL_AXE_ID = 1353;
-    private static final int BLACK_AXE_ID = 1361;
-    private static final int MITHRIL_AXE_ID = 1355;
-    private static final int ADAMANT_AXE_ID = 1357;
-    private static final int RUNE_AXE_ID = 1359;
-
-    public WoodcuttingState(MainScript script) {
-        updateStrategy(script);
-        long startTime = System.currentTimeMillis();
-        this.switchTime = startTime + (long) (3600000 + Math.random() * 3600000);
-        script.log("Entering woodcutting state");
+    private long switchTime;
+
+    public WoodcuttingState(BotContext context) {
+        this.catalog = context.getTrainingCatalog();
+        // Tiers are split on every axe upgrade so each strategy instance carries its tier's axe
+        for (TrainingMethod method : catalog.getMethods(Skill.WOODCUTTING)) {
+            strategies.register(method.getMinLevel(), level -> new WoodcuttingStrategy(context, method, getBestAxeId(level), this));
+            context.getBankLocator().prime(method.getArea());
+        }
+        strategies.splitAt(catalog.getToolLevels(Skill.WOODCUTTING));
+        updateStrategy(context.getClient().getSkills().getStatic(Skill.WOODCUTTING));
     }
 
     @Override
-    public void execute(MainScript script) throws InterruptedException {
-        if (!checkWoodcuttingEquipment(script)) {
-            return;
-        }
-        updateStrategy(script);
-        strategy.execute(script);
+    public void onEnter(BotContext context) {
+        startSession(context);
+        context.log("Entering woodcutting state");
     }
 
-    private void updateStrategy(MainScript script) {
-        int woodcuttingLevel = script.getSkills().getStatic(Skill.WOODCUTTING);
-        int bestAxeId = getBestAxeId(woodcuttingLevel);
+    @Override
+    public void onResume(BotContext context, long sessionEnd) {
+        this.switchTime = sessionEnd;
+        context.log("Resuming woodcutting state");
+    }
+
+    @Override
+    public long getSessionEnd() {
+        return switchTime;
+    }
 
-        if (woodcuttingLevel < 15) {
-            this.strategy = new TreeWoodcuttingStrategy(bestAxeId);
-        } else if (woodcuttingLevel < 60) {
-            this.strategy = new OakWoodcuttingStrategy(script, bestAxeId, this);
-        } else {
-            this.strategy = new YewWoodcuttingStrategy(script, bestAxeId, this);
+    @Override
+    public void execute(BotContext context, WorldSnapshot snapshot) throws InterruptedException {
+        if (!checkWoodcuttingEquipment(context, snapshot)) {
+            return;
         }
+        updateStrategy(snapshot.getStaticLevel(Skill.WOODCUTTING));
+        strategy.execute(context.getClient(), snapshot);
     }
 
-    private boolean checkWoodcuttingEquipment(MainScript script) {
-        int woodcuttingLevel = script.getSkills().getStatic(Skill.WOODCUTTING);
+    private void updateStrategy(int woodcuttingLevel) {
+        this.strategy = strategies.select(woodcuttingLevel);
+    }
+
+    private boolean checkWoodcuttingEquipment(BotContext context, WorldSnapshot snapshot) {
+        int woodcuttingLevel = snapshot.getStaticLevel(Skill.WOODCUTTING);
         int bestAxeId = getBestAxeId(woodcuttingLevel);
-        if (!script.getInventory().contains(bestAxeId) && !script.getEquipment().contains(bestAxeId)) {
-            switchToBankingStateForWoodcuttingEquipment(script, bestAxeId);
+        if (!snapshot.hasItem(bestAxeId)) {
+            switchToBankingStateForWoodcuttingEquipment(context, snapshot, bestAxeId);
             return false;
         }
         return true;
     }
 
     private int getBestAxeId(int woodcuttingLevel) {
-        if (woodcuttingLevel >= 41) return RUNE_AXE_ID;
-        else if (woodcuttingLevel >= 31) return ADAMANT_AXE_ID;
-        else if (woodcuttingLevel >= 21) return MITHRIL_AXE_ID;
-        else if (woodcuttingLevel >= 11) return BLACK_AXE_ID;
-        else if (woodcuttingLevel >= 6) return STEEL_AXE_ID;
-        else return BRONZE_AXE_ID;
+        return catalog.getToolId(Skill.WOODCUTTING, woodcuttingLevel);
+    }
+
+    // Axe loadout for the current level, with the next axe staged when its level is close
+    private BankRequest.Builder planAxes(WorldSnapshot snapshot) {
+        int woodcuttingLevel = snapshot.getStaticLevel(Skill.WOODCUTTING);
+        Map<Integer, Integer> nextLoadout = null;
+        for (int axeLevel : catalog.getToolLevels(Skill.WOODCUTTING)) {
+            if (axeLevel > woodcuttingLevel) {
+                if (EquipmentPlanner.isStagingDue(woodcuttingLevel, axeLevel)) {
+                    nextLoadout = Collections.singletonMap(getBestAxeId(axeLevel), 1);
+                }
+                break;
+            }
+        }
+        return EquipmentPlanner.plan(snapshot, Collections.singletonMap(getBestAxeId(woodcuttingLevel), 1), nextLoadout);
     }
 
-    private void switchToBankingStateForWoodcuttingEquipment(MainScript script, int axeId) {
-        script.log("Switching to banking state for woodcutting equipment");
-        Map<Integer, Integer> requiredItemsForWoodcutting = new HashMap<>();
-        requiredItemsForWoodcutting.put(axeId, 1);
-        script.setCurrentState(new BankingState(script, new SwitchStateOrEquipmentBankingStrategy(requiredItemsForWoodcutting), this));
+    private void switchToBankingStateForWoodcuttingEquipment(BotContext context, WorldSnapshot snapshot, int axeId) {
+        int unobtainableItemId = context.getBankCache().findUnobtainable(snapshot, axeId);
+        if (unobtainableItemId >= 0) {
+            // The trip would end in a logout anyway, so skip the walk
+            context.log("Bank has no item " + unobtainableItemId + ", logging out");
+            context.getClient().logOutAndStop();
+            return;
+        }
+        context.log("Switching to banking state for woodcutting equipment");
+        BankRequest request = planAxes(snapshot).equip(Collections.singleton(axeId)).build();
+        context.setCurrentState(new BankingState(context, new SwitchStateOrEquipmentBankingStrategy(context.getBankCache(), context.getBankLocator(), request), this));
     }
 
-    public void switchToBankingState(MainScript script) {
-        script.log("Switching to banking state");
-        Set<Integer> itemsToKeep = new HashSet<>(); // Add items to keep if any
-        itemsToKeep.add(getBestAxeId(script.getSkills().getStatic(Skill.WOODCUTTING)));
-        BankingState bankingState = new BankingState(script, new DepositAllBankingStrategy(itemsToKeep), this);
-        script.setCurrentState(bankingState);
+    public void switchToBankingState(BotContext context, WorldSnapshot snapshot) {
+        context.log("Switching to banking state");
+        BankingState bankingState = new BankingState(context, new DepositAllBankingStrategy(context.getBankCache(), context.getBankLocator(), planAxes(snapshot).build()), this);
+        context.setCurrentState(bankingState);
     }
 
     @Override
-    public BotState nextState(MainScript script) {
-        if (shouldSwitchToAnotherState()) {
-            return script.pickRandomState(this);
+    public BotState nextState(BotContext context) {
+        boolean sessionOver = shouldSwitchToAnotherState(context);
+        if (sessionOver || catalog.isGoalReached(Skill.WOODCUTTING, context.getClient().getSkills().getStatic(Skill.WOODCUTTING))) {
+            BotState next = context.pickNextState(this);
+            if (next == this && sessionOver) {
+                startSession(context);
+            }
+            return next;
         }
         return this;
     }
 
-    private boolean shouldSwitchToAnotherState() {
-        return System.currentTimeMillis() > switchTime;
+    @Override
+    public Skill getTrainedSkill() {
+        return Skill.WOODCUTTING;
+    }
+
+    // Chops for one to two hours before asking the scheduler again, which keeps woodcutting unless a skill has come
+    // closer to its goal by more than a bank trip
+    private void startSession(BotContext context) {
+        this.switchTime = context.getClient().currentTime() + context.getClient().random(3600000, 7200000);
+    }
+
+    private boolean shouldSwitchToAnotherState(BotContext context) {
+        return context.getClient().currentTime() > switchTime;
     }
 }
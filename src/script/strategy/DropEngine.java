@@ -0,0 +1,85 @@
+package script.strategy;
+
+import script.client.ClientInventory;
+import script.client.GameClient;
+
+// Drops what a power-training strategy gathers. While the player is still gathering it drops a few items at a time
+// so the inventory never fills and the action never stops; a full inventory is only cleared in one go when that fell
+// behind. How long a full inventory kept the player from acting is reported with the wait histograms.
+public class DropEngine {
+    private static final int BATCH_SIZE = 3;          // Items piled up before dropping while busy
+    private static final int MAX_DROPS_PER_LOOP = 4;  // Keeps the loop from missing the end of the action
+    private static final String RECOVERY_LABEL = "full inventory";
+
+    private final DropPattern pattern;
+    private final int[] itemIds;
+    private final boolean dropListed;
+    private final int[] slotIds = new int[ClientInventory.SIZE];
+    private final int[] slotAmounts = new int[ClientInventory.SIZE];
+    private long fullSince = -1;
+
+    private DropEngine(DropPattern pattern, int[] itemIds, boolean dropListed) {
+        this.pattern = pattern;
+        this.itemIds = itemIds.clone();
+        this.dropListed = dropListed;
+    }
+
+    public static DropEngine dropping(DropPattern pattern, int... itemIds) {
+        return new DropEngine(pattern, itemIds, true);
+    }
+
+    public static DropEngine keeping(DropPattern pattern, int... itemIds) {
+        return new DropEngine(pattern, itemIds, false);
+    }
+
+    // Called on loops where the player is busy; returns true when the cursor went to the inventory
+    public boolean dropWhileBusy(GameClient client) {
+        client.getInventory().readItems(slotIds, slotAmounts);
+        int droppable = 0;
+        for (int slot = 0; slot < slotIds.length; slot++) {
+            if (isDroppable(slotIds[slot])) {
+                droppable++;
+            }
+        }
+        return droppable >= BATCH_SIZE && drop(client, MAX_DROPS_PER_LOOP) > 0;
+    }
+
+    public void dropAll(GameClient client, long now) {
+        if (fullSince < 0) {
+            fullSince = now;
+        }
+        client.getInventory().readItems(slotIds, slotAmounts);
+        drop(client, ClientInventory.SIZE);
+    }
+
+    // Called when the strategy acts again, closing the pause a full inventory started
+    public void recordResume(GameClient client) {
+        if (fullSince >= 0) {
+            client.getWaits().record(RECOVERY_LABEL, client.currentTime() - fullSince);
+            fullSince = -1;
+        }
+    }
+
+    private int drop(GameClient client, int maxDrops) {
+        int dropped = 0;
+        for (int i = 0; i < ClientInventory.SIZE && dropped < maxDrops; i++) {
+            int slot = pattern.slotAt(i);
+            if (isDroppable(slotIds[slot]) && client.getInventory().dropSlot(slot)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private boolean isDroppable(int itemId) {
+        if (itemId < 0) {
+            return false;
+        }
+        for (int listedId : itemIds) {
+            if (listedId == itemId) {
+                return dropListed;
+            }
+        }
+        return !dropListed;
+    }
+}
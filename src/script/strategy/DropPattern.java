@@ -0,0 +1,32 @@
+package script.strategy;
+
+import script.client.ClientInventory;
+
+// Order the inventory slots are dropped in. The inventory is 4 slots wide and 7 high; the snaking patterns keep every
+// drop next to the previous one, where the client's own drop-all jumps back across a row after every fourth item.
+public enum DropPattern {
+    ROWS(false, false),    // Slot order, like the client's drop-all
+    ZIGZAG(false, true),   // Along each row and back along the next
+    COLUMNS(true, true);   // Down the first column, up the second and so on
+
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = ClientInventory.SIZE / WIDTH;
+
+    private final int[] slotOrder = new int[ClientInventory.SIZE];
+
+    DropPattern(boolean byColumn, boolean snake) {
+        int lines = byColumn ? WIDTH : HEIGHT;
+        int lineLength = byColumn ? HEIGHT : WIDTH;
+        int index = 0;
+        for (int line = 0; line < lines; line++) {
+            for (int step = 0; step < lineLength; step++) {
+                int along = snake && line % 2 == 1 ? lineLength - 1 - step : step;
+                slotOrder[index++] = byColumn ? along * WIDTH + line : line * WIDTH + along;
+            }
+        }
+    }
+
+    int slotAt(int index) {
+        return slotOrder[index];
+    }
+}
@@ -0,0 +1,63 @@
+package script.strategy;
+
+import org.osbot.rs07.api.map.Position;
+import script.client.GameClient;
+import script.client.GameEntity;
+import script.world.WorldSnapshot;
+
+// Lines up the next tree or fishing spot while the current one is being worked, so the first idle loop only
+// has to click. The next target is looked up and hovered once per action, then kept while it still exists.
+public class InteractionPipeline {
+    public interface TargetFinder {
+        // excluded is the tile being worked on, or null when nothing is
+        GameEntity find(GameClient client, WorldSnapshot snapshot, Position excluded);
+    }
+
+    private final String action;
+    private final TargetFinder finder;
+    private GameEntity current;
+    private Position currentPosition; // Tile current was on when clicked
+    private GameEntity next;
+    private boolean nextHovered;
+
+    public InteractionPipeline(String action, TargetFinder finder) {
+        this.action = action;
+        this.finder = finder;
+    }
+
+    // Called on loops where the player is still busy with the current target
+    public void prepare(GameClient client, WorldSnapshot snapshot) {
+        if (next == null || !next.exists()) {
+            next = finder.find(client, snapshot, currentPosition);
+            nextHovered = false;
+        }
+        if (next != null && !nextHovered) {
+            nextHovered = next.hover();
+        }
+    }
+
+    // Called after the cursor left the next target, e.g. to drop items, so the next prepare hovers it again
+    public void cursorMoved() {
+        nextHovered = false;
+    }
+
+    // Called once the player is idle; returns true when the click went out.
+    // Idling next to a target that is still there (after dropping a full inventory) goes back to it.
+    public boolean interact(GameClient client, WorldSnapshot snapshot) {
+        GameEntity target;
+        if (current != null && current.exists() && currentPosition.equals(current.getPosition())) {
+            target = current;
+        } else if (next != null && next.exists()) {
+            target = next;
+        } else {
+            target = finder.find(client, snapshot, null);
+        }
+        next = null;
+        if (target == null || !target.interact(action)) {
+            return false;
+        }
+        current = target;
+        currentPosition = target.getPosition();
+        return true;
+    }
+}
@@ -1,8 +1,8 @@
 package script.strategy;
 
-import org.osbot.rs07.script.Script;
+import script.client.GameClient;
+import script.world.WorldSnapshot;
 
 public interface TaskStrategy {
-    void execute(Script script) throws InterruptedException;
+    void execute(GameClient client, WorldSnapshot snapshot) throws InterruptedException;
 }
-
@@ -0,0 +1,82 @@
+package script.strategy;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+// Maps level thresholds to strategy factories and keeps one instance per tier
+public class TieredStrategyRegistry {
+    private int[] minLevels = new int[0];
+    private IntFunction<? extends TaskStrategy>[] factories = newFactoryArray(0);
+    private TaskStrategy[] instances = new TaskStrategy[0];
+    private int currentTier = -1;
+
+    public TieredStrategyRegistry register(int minLevel, IntFunction<? extends TaskStrategy> factory) {
+        int index = Arrays.binarySearch(minLevels, minLevel);
+        if (index >= 0) {
+            factories[index] = factory;
+            instances[index] = null;
+            return this;
+        }
+        insertTier(-index - 1, minLevel, factory);
+        return this;
+    }
+
+    // Adds extra tier boundaries that reuse the enclosing tier's factory, e.g. for tool upgrades
+    public TieredStrategyRegistry splitAt(int... levels) {
+        for (int level : levels) {
+            int index = Arrays.binarySearch(minLevels, level);
+            if (index < 0 && -index - 2 >= 0) {
+                insertTier(-index - 1, level, factories[-index - 2]);
+            }
+        }
+        return this;
+    }
+
+    public TaskStrategy select(int level) {
+        if (currentTier < 0 || !isInTier(currentTier, level)) {
+            currentTier = findTier(level);
+        }
+        if (instances[currentTier] == null) {
+            instances[currentTier] = factories[currentTier].apply(level);
+        }
+        return instances[currentTier];
+    }
+
+    private boolean isInTier(int tier, int level) {
+        return level >= minLevels[tier] && (tier + 1 == minLevels.length || level < minLevels[tier + 1]);
+    }
+
+    private int findTier(int level) {
+        if (minLevels.length == 0) {
+            throw new IllegalStateException("No strategies registered");
+        }
+        int index = Arrays.binarySearch(minLevels, level);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    private void insertTier(int index, int minLevel, IntFunction<? extends TaskStrategy> factory) {
+        int size = minLevels.length;
+        int[] newMinLevels = new int[size + 1];
+        IntFunction<? extends TaskStrategy>[] newFactories = newFactoryArray(size + 1);
+        TaskStrategy[] newInstances = new TaskStrategy[size + 1];
+
+        System.arraycopy(minLevels, 0, newMinLevels, 0, index);
+        System.arraycopy(factories, 0, newFactories, 0, index);
+        System.arraycopy(instances, 0, newInstances, 0, index);
+        newMinLevels[index] = minLevel;
+        newFactories[index] = factory;
+        System.arraycopy(minLevels, index, newMinLevels, index + 1, size - index);
+        System.arraycopy(factories, index, newFactories, index + 1, size - index);
+        System.arraycopy(instances, index, newInstances, index + 1, size - index);
+
+        minLevels = newMinLevels;
+        factories = newFactories;
+        instances = newInstances;
+        currentTier = -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IntFunction<? extends TaskStrategy>[] newFactoryArray(int size) {
+        return (IntFunction<? extends TaskStrategy>[]) new IntFunction<?>[size];
+    }
+}
@@ -0,0 +1,137 @@
+package script.strategy.banking;
+
+import script.client.AccountFiles;
+import script.client.ClientBank;
+import script.client.GameClient;
+import script.world.IntIntMap;
+import script.world.WorldSnapshot;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+// Last known bank contents: read in full when the bank opens, then kept current from our own deposits and withdrawals.
+// Saved per account, but what a fresh run loads is only a hint, since the bank may have changed while the script was
+// off: the contents count as known once the bank has been opened this session, and until then nothing is ruled out.
+public class BankCache {
+    private final IntIntMap contents = new IntIntMap(128);
+    private final File file;
+    private boolean known;  // Read from the bank this session
+    private boolean hinted; // Loaded from the last session
+    private boolean dirty;
+
+    public BankCache(File file) {
+        this.file = file;
+    }
+
+    // File for the logged in account under the client's data directory, or null when there is nowhere to keep it
+    public static File fileFor(GameClient client) {
+        return AccountFiles.forAccount(client, "bank-", ".properties");
+    }
+
+    public boolean isKnown() {
+        return known;
+    }
+
+    public int getAmount(int itemId) {
+        return contents.get(itemId);
+    }
+
+    public boolean contains(int itemId) {
+        return contents.get(itemId) > 0;
+    }
+
+    // Unknown contents are given the benefit of the doubt
+    public boolean mayContain(int itemId) {
+        return !known || contains(itemId);
+    }
+
+    // Like mayContain, but trusts the last session's contents until the bank is opened; good enough to put off a trip,
+    // never to give up on one
+    public boolean probablyContains(int itemId) {
+        return !known && !hinted || contains(itemId);
+    }
+
+    // First item that is neither carried nor possibly in the bank, or -1 when a bank trip can get everything
+    public int findUnobtainable(WorldSnapshot snapshot, int... itemIds) {
+        for (int itemId : itemIds) {
+            if (!snapshot.hasItem(itemId) && !mayContain(itemId)) {
+                return itemId;
+            }
+        }
+        return -1;
+    }
+
+    public void refresh(ClientBank bank) {
+        bank.readItems(contents);
+        known = true;
+        dirty = true;
+    }
+
+    public void recordDeposit(int itemId, int amount) {
+        if (known && amount > 0) {
+            contents.add(itemId, amount);
+            dirty = true;
+        }
+    }
+
+    public void recordWithdrawal(int itemId, int amount) {
+        if (known && amount > 0) {
+            int left = contents.get(itemId) - amount;
+            if (left > 0) {
+                contents.put(itemId, left);
+            } else {
+                contents.remove(itemId);
+            }
+            dirty = true;
+        }
+    }
+
+    public void load(GameClient client) {
+        if (file == null || !file.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            client.log("Could not read bank cache: " + e.getMessage());
+            return;
+        }
+        contents.clear();
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                contents.put(Integer.parseInt(key), Integer.parseInt(properties.getProperty(key)));
+            } catch (IllegalArgumentException e) {
+                client.log("Skipping bad bank cache entry " + key);
+            }
+        }
+        hinted = true;
+        dirty = false;
+    }
+
+    public void save(GameClient client) {
+        if (file == null || !dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (int itemId : contents.keys()) {
+            if (contents.get(itemId) > 0) {
+                properties.setProperty(Integer.toString(itemId), Integer.toString(contents.get(itemId)));
+            }
+        }
+        if (!AccountFiles.ensureDirectory(client, file)) {
+            return;
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Last known bank contents: item id = amount");
+            dirty = false;
+        } catch (IOException e) {
+            client.log("Could not write bank cache: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package script.strategy.banking;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.map.constants.Banks;
+import script.client.RouteCache;
+import script.world.IntIntMap;
+
+import java.util.List;
+
+// Picks the single cheapest F2P bank to walk to so the web walker only has to path to one destination.
+// A bank's cost is the length of the route walked to it before from the same 64x64 map region, when the route cache
+// has one, and otherwise a distance estimate with penalties for the known detours, scaled to walked tiles by the
+// cached routes from that region. The pick is kept per region until the route cache changes; the states fill in their
+// training areas up front. Each script has its own locator.
+public final class BankLocator {
+    private static final Area[] BANKS = {
+            Banks.LUMBRIDGE_UPPER,
+            Banks.VARROCK_WEST,
+            Banks.VARROCK_EAST,
+            Banks.FALADOR_EAST,
+            Banks.FALADOR_WEST,
+            Banks.EDGEVILLE,
+            Banks.GRAND_EXCHANGE,
+            Banks.AL_KHARID,
+            Banks.DRAYNOR
+    };
+    private static final String[] BANK_NAMES = {
+            "Lumbridge", "Varrock west", "Varrock east", "Falador east", "Falador west",
+            "Edgeville", "Grand Exchange", "Al Kharid", "Draynor"
+    };
+    // Tiles added on top of the distance: the castle stairs and the toll gate or the walk around it
+    private static final int[] BANK_PENALTIES = {30, 0, 0, 0, 0, 0, 0, 60, 0};
+    private static final int PLANE_CHANGE_COST = 15;
+
+    // Bank bounds and centres as plain ints so lookups never touch Area
+    private final int[] minX = new int[BANKS.length];
+    private final int[] minY = new int[BANKS.length];
+    private final int[] maxX = new int[BANKS.length];
+    private final int[] maxY = new int[BANKS.length];
+    private final int[] plane = new int[BANKS.length];
+    private final String[] bankKeys = new String[BANKS.length]; // Route cache destination keys
+    private final RouteCache routeCache;
+    private final IntIntMap bestBankByRegion = new IntIntMap(32);
+    private int routeVersion;
+
+    public BankLocator(RouteCache routeCache) {
+        this.routeCache = routeCache;
+        this.routeVersion = routeCache.getVersion();
+        for (int i = 0; i < BANKS.length; i++) {
+            List<Position> positions = BANKS[i].getPositions();
+            minX[i] = Integer.MAX_VALUE;
+            minY[i] = Integer.MAX_VALUE;
+            maxX[i] = Integer.MIN_VALUE;
+            maxY[i] = Integer.MIN_VALUE;
+            for (Position position : positions) {
+                minX[i] = Math.min(minX[i], position.getX());
+                minY[i] = Math.min(minY[i], position.getY());
+                maxX[i] = Math.max(maxX[i], position.getX());
+                maxY[i] = Math.max(maxY[i], position.getY());
+            }
+            plane[i] = BANKS[i].getPlane();
+            bankKeys[i] = RouteCache.areaKey(minX[i], minY[i], maxX[i], maxY[i], plane[i]);
+        }
+    }
+
+    // Works out the bank for a training area up front, so the first trip from it is a plain lookup
+    public void prime(Area trainingArea) {
+        List<Position> positions = trainingArea.getPositions();
+        Position centre = positions.get(positions.size() / 2);
+        int key = RouteCache.regionKey(centre);
+        if (!bestBankByRegion.containsKey(key)) {
+            bestBankByRegion.put(key, findCheapestBank(centre));
+        }
+    }
+
+    public Area getNearestBank(Position from) {
+        return BANKS[getNearestBankIndex(from)];
+    }
+
+    public String getNearestBankName(Position from) {
+        return BANK_NAMES[getNearestBankIndex(from)];
+    }
+
+    // Walking cost in tiles to the nearest bank, on the same scale as getPathCost
+    public int getNearestBankCost(Position from) {
+        return getPathCost(from, getNearestBankIndex(from));
+    }
+
+    public boolean isAtBank(Position position) {
+        if (position == null) {
+            return false;
+        }
+        int x = position.getX();
+        int y = position.getY();
+        for (int i = 0; i < BANKS.length; i++) {
+            if (x >= minX[i] && x <= maxX[i] && y >= minY[i] && y <= maxY[i] && position.getZ() == plane[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Walking cost in tiles from a position to a bank: the cached route's length, or an estimate without one
+    public int getPathCost(Position from, int bankIndex) {
+        long[] calibration = calibrate(from);
+        return getPathCost(from, bankIndex, calibration[0], calibration[1]);
+    }
+
+    // Estimates are scaled by how far the cached routes from the region ran against their own estimates, so an
+    // uncached bank is costed in walked tiles too rather than winning on the straight-line distance
+    private int getPathCost(Position from, int bankIndex, long walked, long estimated) {
+        int routeLength = routeCache.getLength(RouteCache.routeKey(from, bankKeys[bankIndex]));
+        if (routeLength >= 0) {
+            return routeLength;
+        }
+        int estimate = estimateCost(from, bankIndex);
+        return estimated > 0 ? (int) (estimate * walked / estimated) : estimate;
+    }
+
+    // Tiles walked and tiles estimated, from the same starts, over the banks with a cached route from the region
+    private long[] calibrate(Position from) {
+        long walked = 0;
+        long estimated = 0;
+        for (int i = 0; i < BANKS.length; i++) {
+            List<Position> route = routeCache.get(RouteCache.routeKey(from, bankKeys[i]));
+            if (route != null && !route.isEmpty()) {
+                walked += routeCache.getLength(RouteCache.routeKey(from, bankKeys[i]));
+                estimated += estimateCost(route.get(0), i);
+            }
+        }
+        return new long[] {walked, estimated};
+    }
+
+    private int estimateCost(Position from, int bankIndex) {
+        int dx = Math.max(0, Math.max(minX[bankIndex] - from.getX(), from.getX() - maxX[bankIndex]));
+        int dy = Math.max(0, Math.max(minY[bankIndex] - from.getY(), from.getY() - maxY[bankIndex]));
+        return Math.max(dx, dy) + BANK_PENALTIES[bankIndex] + Math.abs(from.getZ() - plane[bankIndex]) * PLANE_CHANGE_COST;
+    }
+
+    private int getNearestBankIndex(Position from) {
+        int version = routeCache.getVersion();
+        if (version != routeVersion) {
+            // A route was learned or dropped, which may change any pick
+            bestBankByRegion.clear();
+            routeVersion = version;
+        }
+        int key = RouteCache.regionKey(from);
+        if (bestBankByRegion.containsKey(key)) {
+            return bestBankByRegion.get(key);
+        }
+        int bankIndex = findCheapestBank(from);
+        bestBankByRegion.put(key, bankIndex);
+        return bankIndex;
+    }
+
+    private int findCheapestBank(Position from) {
+        long[] calibration = calibrate(from);
+        int bestIndex = 0;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < BANKS.length; i++) {
+            int cost = getPathCost(from, i, calibration[0], calibration[1]);
+            if (cost < bestCost) {
+                bestIndex = i;
+                bestCost = cost;
+            }
+        }
+        return bestIndex;
+    }
+}
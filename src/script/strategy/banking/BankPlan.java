@@ -0,0 +1,168 @@
+package script.strategy.banking;
+
+import script.client.ClientBank;
+import script.client.ClientInventory;
+import script.world.IntIntMap;
+
+import java.util.Map;
+
+// Cheapest set of deposits and withdrawals that turns the inventory into what a BankRequest asks for
+public final class BankPlan {
+    private final boolean depositAllFirst;
+    private final int[] depositIds;     // Deposited one id at a time when not depositing everything
+    private final int[] depositAmounts;
+    private final int[] targetIds;      // Every id that should be in the inventory afterwards
+    private final int[] targetAmounts;
+    private final int[] currentAmounts; // Amount of each target id before the visit
+
+    private BankPlan(boolean depositAllFirst, int[] depositIds, int[] depositAmounts, int[] targetIds, int[] targetAmounts,
+                     int[] currentAmounts) {
+        this.depositAllFirst = depositAllFirst;
+        this.depositIds = depositIds;
+        this.depositAmounts = depositAmounts;
+        this.targetIds = targetIds;
+        this.targetAmounts = targetAmounts;
+        this.currentAmounts = currentAmounts;
+    }
+
+    // Groups slot-indexed inventory contents by item id and compares the action count of both approaches
+    public static BankPlan create(int[] slotIds, int[] slotAmounts, BankRequest request, BankCache bankCache) {
+        IntIntMap counts = new IntIntMap(ClientInventory.SIZE);
+        for (int slot = 0; slot < slotIds.length; slot++) {
+            if (slotIds[slot] >= 0) {
+                counts.add(slotIds[slot], slotAmounts[slot]);
+            }
+        }
+
+        int[] distinctIds = counts.keys();
+        int depositCount = 0;
+        for (int itemId : distinctIds) {
+            if (request.shouldDeposit(itemId)) {
+                depositCount++;
+            }
+        }
+
+        // Kept items stay at their current amount, withdrawals top up to the requested total
+        IntIntMap targets = new IntIntMap(distinctIds.length + request.getWithdrawals().size());
+        int[] depositIds = new int[depositCount];
+        int[] depositAmounts = new int[depositCount];
+        int depositIndex = 0;
+        for (int itemId : distinctIds) {
+            if (request.shouldDeposit(itemId)) {
+                depositAmounts[depositIndex] = counts.get(itemId);
+                depositIds[depositIndex++] = itemId;
+            } else {
+                targets.put(itemId, counts.get(itemId));
+            }
+        }
+        for (Map.Entry<Integer, Integer> entry : request.getWithdrawals().entrySet()) {
+            int itemId = entry.getKey();
+            if (request.isStaged(itemId) && !bankCache.contains(itemId)) {
+                continue;
+            }
+            int amount = entry.getValue();
+            // An empty bank and inventory leaves the full amount so findUnavailableItem reports it
+            int available = counts.get(itemId) + bankCache.getAmount(itemId);
+            if ((request.isStaged(itemId) || request.isSupply(itemId)) && bankCache.isKnown() && available > 0) {
+                amount = Math.min(amount, available);
+            }
+            targets.put(itemId, Math.max(targets.get(itemId), amount));
+        }
+
+        int[] targetIds = targets.keys();
+        int[] targetAmounts = new int[targetIds.length];
+        int[] currentAmounts = new int[targetIds.length];
+        int shortfalls = 0;
+        for (int i = 0; i < targetIds.length; i++) {
+            targetAmounts[i] = targets.get(targetIds[i]);
+            currentAmounts[i] = counts.get(targetIds[i]);
+            if (currentAmounts[i] < targetAmounts[i]) {
+                shortfalls++;
+            }
+        }
+
+        // Deposit-all is one click plus a withdraw per target id; ties go to per-id actions, which never touch kept items
+        int depositAllActions = 1 + targetIds.length;
+        int perItemActions = depositIds.length + shortfalls;
+        boolean depositAllFirst = depositIds.length > 0 && depositAllActions < perItemActions;
+        return new BankPlan(depositAllFirst, depositIds, depositAmounts, targetIds, targetAmounts, currentAmounts);
+    }
+
+    public boolean isEmpty() {
+        return getActionCount() == 0;
+    }
+
+    public int getActionCount() {
+        if (depositAllFirst) {
+            return 1 + targetIds.length;
+        }
+        int actions = depositIds.length;
+        for (int i = 0; i < targetIds.length; i++) {
+            if (currentAmounts[i] < targetAmounts[i]) {
+                actions++;
+            }
+        }
+        return actions;
+    }
+
+    public boolean isDepositAllFirst() {
+        return depositAllFirst;
+    }
+
+    // First id the plan has to take out of the bank that the bank does not hold, or -1
+    public int findUnavailableItem(BankCache bankCache) {
+        for (int i = 0; i < targetIds.length; i++) {
+            if (currentAmounts[i] < targetAmounts[i] && !bankCache.mayContain(targetIds[i])) {
+                return targetIds[i];
+            }
+        }
+        return -1;
+    }
+
+    // Issues every action without waiting in between; returns false if the client rejected one
+    public boolean execute(ClientBank bank) {
+        boolean issued = true;
+        if (depositAllFirst) {
+            issued = bank.depositAll();
+            for (int i = 0; i < targetIds.length; i++) {
+                issued &= bank.withdraw(targetIds[i], targetAmounts[i]);
+            }
+            return issued;
+        }
+        for (int itemId : depositIds) {
+            issued &= bank.depositAll(itemId);
+        }
+        for (int i = 0; i < targetIds.length; i++) {
+            if (currentAmounts[i] < targetAmounts[i]) {
+                issued &= bank.withdraw(targetIds[i], targetAmounts[i] - currentAmounts[i]);
+            }
+        }
+        return issued;
+    }
+
+    // Applies the plan's effect on the bank to the cache instead of reading the bank again
+    public void recordIn(BankCache bankCache) {
+        for (int i = 0; i < depositIds.length; i++) {
+            bankCache.recordDeposit(depositIds[i], depositAmounts[i]);
+        }
+        // Kept items that went in with a deposit-all come straight back out, so only the top-up counts
+        for (int i = 0; i < targetIds.length; i++) {
+            bankCache.recordWithdrawal(targetIds[i], targetAmounts[i] - currentAmounts[i]);
+        }
+    }
+
+    // True once the deposited ids are gone and every target amount is in the inventory
+    public boolean isComplete(ClientInventory inventory) {
+        for (int itemId : depositIds) {
+            if (inventory.contains(itemId)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < targetIds.length; i++) {
+            if (inventory.getAmount(targetIds[i]) < targetAmounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package script.strategy.banking;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// What a bank visit should leave behind: which items stay, what comes out and what gets worn; everything else goes in
+public final class BankRequest {
+    private final Set<Integer> keepIds;
+    private final Map<Integer, Integer> withdrawals;
+    private final Set<Integer> stagedIds;    // Withdrawals that are skipped when the bank does not have them
+    private final Set<Integer> suppliedIds;  // Withdrawals cut down to what the bank holds
+    private final Set<Integer> equipIds;
+
+    private BankRequest(Builder builder) {
+        this.keepIds = Collections.unmodifiableSet(new HashSet<>(builder.keepIds));
+        this.withdrawals = Collections.unmodifiableMap(new LinkedHashMap<>(builder.withdrawals));
+        this.stagedIds = Collections.unmodifiableSet(new HashSet<>(builder.stagedIds));
+        this.suppliedIds = Collections.unmodifiableSet(new HashSet<>(builder.suppliedIds));
+        this.equipIds = Collections.unmodifiableSet(new HashSet<>(builder.equipIds));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Withdrawn items are never deposited only to be taken out again
+    public boolean shouldDeposit(int itemId) {
+        return !keepIds.contains(itemId) && !withdrawals.containsKey(itemId);
+    }
+
+    public Set<Integer> getKeepIds() {
+        return keepIds;
+    }
+
+    public Map<Integer, Integer> getWithdrawals() {
+        return withdrawals;
+    }
+
+    public boolean isStaged(int itemId) {
+        return stagedIds.contains(itemId);
+    }
+
+    public boolean isSupply(int itemId) {
+        return suppliedIds.contains(itemId);
+    }
+
+    public Set<Integer> getEquipIds() {
+        return equipIds;
+    }
+
+    public static final class Builder {
+        private final Set<Integer> keepIds = new HashSet<>();
+        private final Map<Integer, Integer> withdrawals = new LinkedHashMap<>();
+        private final Set<Integer> stagedIds = new HashSet<>();
+        private final Set<Integer> suppliedIds = new HashSet<>();
+        private final Set<Integer> equipIds = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder keep(Set<Integer> itemIds) {
+            keepIds.addAll(itemIds);
+            return this;
+        }
+
+        public Builder keep(int... itemIds) {
+            for (int itemId : itemIds) {
+                keepIds.add(itemId);
+            }
+            return this;
+        }
+
+        // Amount is the total wanted in the inventory, not the amount to take out
+        public Builder withdraw(int itemId, int amount) {
+            stagedIds.remove(itemId);
+            suppliedIds.remove(itemId);
+            withdrawals.merge(itemId, amount, Math::max);
+            return this;
+        }
+
+        public Builder withdraw(Map<Integer, Integer> amounts) {
+            for (Map.Entry<Integer, Integer> entry : amounts.entrySet()) {
+                withdraw(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+
+        // Like withdraw, but the visit goes ahead without it if the bank has none
+        public Builder stage(int itemId, int amount) {
+            if (!withdrawals.containsKey(itemId)) {
+                stagedIds.add(itemId);
+            }
+            withdrawals.merge(itemId, amount, Math::max);
+            return this;
+        }
+
+        // Like withdraw, but takes what the bank has when it holds less; only fails when none is carried or banked
+        public Builder supply(int itemId, int amount) {
+            stagedIds.remove(itemId);
+            suppliedIds.add(itemId);
+            withdrawals.merge(itemId, amount, Math::max);
+            return this;
+        }
+
+        public Builder equip(Set<Integer> itemIds) {
+            equipIds.addAll(itemIds);
+            return this;
+        }
+
+        public BankRequest build() {
+            return new BankRequest(this);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package script.strategy.banking;
+
+import org.osbot.rs07.api.ui.Skill;
+import script.client.ClientInventory;
+import script.client.GameClient;
+import script.scheduler.LoopScheduler;
+import script.scheduler.WaitCondition;
+import script.scheduler.WaitConditions;
+import script.world.WorldSnapshot;
+
+import java.util.Set;
+
+// Carries out a BankRequest: walk and open once, issue the planned actions back to back, wait once
+public class BankingEngine {
+    private static final int SLEEP_DURATION_MS = 2000;
+    private static final int OPEN_TIMEOUT_MS = 10000;
+    private static final int MAX_OPEN_ATTEMPTS = 3;
+
+    public enum Result {
+        COMPLETED,
+        BANK_UNAVAILABLE,
+        ITEM_MISSING
+    }
+
+    private final BankCache bankCache;
+    private final BankLocator bankLocator;
+    private final int[] slotIds = new int[ClientInventory.SIZE];
+    private final int[] slotAmounts = new int[ClientInventory.SIZE];
+    private int missingItemId = -1;
+    private boolean contentsRead;     // Bank contents read since the bank was last seen closed
+    private BankPlan activePlan;       // What the reusable wait conditions below check against
+    private int equippingItemId = -1;
+    private final WaitCondition planComplete = client -> activePlan.isComplete(client.getInventory());
+    private final WaitCondition equipped = client -> client.getEquipment().contains(equippingItemId);
+
+    public BankingEngine(BankCache bankCache, BankLocator bankLocator) {
+        this.bankCache = bankCache;
+        this.bankLocator = bankLocator;
+    }
+
+    public Result execute(GameClient client, WorldSnapshot snapshot, BankRequest request) throws InterruptedException {
+        missingItemId = -1;
+        if (!client.getBank().isOpen()) {
+            contentsRead = false;
+        }
+        if (!prepareForBanking(client, snapshot)) {
+            client.log("Failed to prepare for banking.");
+            return Result.BANK_UNAVAILABLE;
+        }
+        // Read once per opening, including a bank found already open, which whoever opened it may have changed
+        if (!contentsRead || !bankCache.isKnown()) {
+            bankCache.refresh(client.getBank());
+            contentsRead = true;
+        }
+
+        client.getInventory().readItems(slotIds, slotAmounts);
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+        int unavailableItemId = plan.findUnavailableItem(bankCache);
+        if (unavailableItemId >= 0) {
+            missingItemId = unavailableItemId;
+            client.log("Item " + getItemName(client, unavailableItemId) + " not found in the bank");
+            return Result.ITEM_MISSING;
+        }
+
+        if (!plan.isEmpty()) {
+            client.log("Banking with " + plan.getActionCount() + (plan.isDepositAllFirst() ? " actions after depositing all" : " actions"));
+            if (!plan.execute(client.getBank())) {
+                client.log("Bank rejected an action");
+            }
+            plan.recordIn(bankCache);
+            activePlan = plan;
+            int timeout = SLEEP_DURATION_MS + plan.getActionCount() * LoopScheduler.TICK_MS;
+            if (!client.getWaits().until("bank actions", planComplete, timeout)) {
+                client.log("Bank actions did not all complete");
+            }
+            activePlan = null;
+        }
+
+        bankCache.save(client);
+        closeBank(client);
+        equipItems(client, request.getEquipIds());
+        return Result.COMPLETED;
+    }
+
+    // Item that made the last request fail with ITEM_MISSING, or -1
+    public int getMissingItemId() {
+        return missingItemId;
+    }
+
+    public String getItemName(GameClient client, int itemId) {
+        String itemName = client.getBank().getItemName(itemId);
+        return itemName != null ? itemName : "Unknown Item";
+    }
+
+    private boolean prepareForBanking(GameClient client, WorldSnapshot snapshot) throws InterruptedException {
+        if (client.getBank().isOpen()) {
+            return true;
+        }
+        if (snapshot.getPosition() == null) {
+            // No nearest bank to pick without a position
+            return false;
+        }
+        if (!bankLocator.isAtBank(snapshot.getPosition())) {
+            walkToNearestBank(client, snapshot);
+        }
+        return openBankWithRetry(client);
+    }
+
+    private void walkToNearestBank(GameClient client, WorldSnapshot snapshot) {
+        client.log("Walking to the nearest F2P bank: " + bankLocator.getNearestBankName(snapshot.getPosition()));
+        client.getWalking().webWalk(bankLocator.getNearestBank(snapshot.getPosition()));
+    }
+
+    private boolean openBankWithRetry(GameClient client) throws InterruptedException {
+        for (int attempt = 0; attempt < MAX_OPEN_ATTEMPTS; attempt++) {
+            if (openBank(client)) {
+                return true;
+            }
+            client.log("Attempt to open bank failed, retrying...");
+            client.getWaits().until("bank open retry", WaitConditions.BANK_OPEN, SLEEP_DURATION_MS);
+        }
+        client.log("Failed to open bank after multiple attempts");
+        return false;
+    }
+
+    private boolean openBank(GameClient client) throws InterruptedException {
+        if (client.getBank().isOpen()) {
+            return true;
+        }
+        if (client.getBank().open() && client.getWaits().until("bank open", WaitConditions.BANK_OPEN, OPEN_TIMEOUT_MS)) {
+            return true;
+        }
+        client.log("Failed to open the bank");
+        return false;
+    }
+
+    private void closeBank(GameClient client) throws InterruptedException {
+        if (!client.getBank().isOpen()) {
+            return;
+        }
+        client.log("Closing the bank");
+        client.getBank().close();
+        contentsRead = false;
+        client.getWaits().until("bank close", WaitConditions.BANK_CLOSED, SLEEP_DURATION_MS);
+    }
+
+    private void equipItems(GameClient client, Set<Integer> itemIds) throws InterruptedException {
+        for (int itemId : itemIds) {
+            equipItemIfPresent(client, itemId);
+        }
+    }
+
+    private void equipItemIfPresent(GameClient client, int itemId) throws InterruptedException {
+        if (client.getInventory().hasAction(itemId, "Wield")) {
+            String itemName = client.getInventory().getItemName(itemId);
+            int requiredLevel = getRequiredLevelForItem(itemName);
+
+            if (client.getSkills().getDynamic(Skill.ATTACK) >= requiredLevel) {
+                client.log("Equipping " + itemName);
+                client.getInventory().interact(itemId, "Wield");
+                equippingItemId = itemId;
+                client.getWaits().until("equip", equipped, SLEEP_DURATION_MS);
+            } else {
+                client.log("Attack level not high enough to wield " + itemName);
+            }
+        }
+    }
+
+    private int getRequiredLevelForItem(String itemName) {
+        itemName = itemName.toLowerCase();
+        if (itemName.contains("rune")) {
+            return 40;
+        } else if (itemName.contains("adamant")) {
+            return 30;
+        } else if (itemName.contains("mithril")) {
+            return 20;
+        } else if (itemName.contains("black")) {
+            return 10;
+        } else if (itemName.contains("steel")) {
+            return 5;
+        }
+        return 0; // Default level if no specific type is found
+    }
+}
@@ -0,0 +1,41 @@
+package script.strategy.banking;
+
+import script.world.WorldSnapshot;
+
+import java.util.Map;
+
+// Turns a tier's tools into the smallest bank request: only missing tools come out, worn ones stay worn,
+// and the next tier's tools ride along on trips made shortly before the level for them
+public final class EquipmentPlanner {
+    // How many levels ahead of a tier its tools start being withdrawn
+    public static final int STAGING_LEVELS = 3;
+
+    private EquipmentPlanner() {
+    }
+
+    public static boolean isStagingDue(int level, int nextTierLevel) {
+        return level < nextTierLevel && nextTierLevel - level <= STAGING_LEVELS;
+    }
+
+    // nextLoadout may be null when there is nothing to stage
+    public static BankRequest.Builder plan(WorldSnapshot snapshot, Map<Integer, Integer> loadout, Map<Integer, Integer> nextLoadout) {
+        BankRequest.Builder builder = BankRequest.builder();
+        for (Map.Entry<Integer, Integer> entry : loadout.entrySet()) {
+            if (snapshot.isEquipped(entry.getKey())) {
+                builder.keep(entry.getKey());
+            } else {
+                builder.withdraw(entry.getKey(), entry.getValue());
+            }
+        }
+        if (nextLoadout != null) {
+            for (Map.Entry<Integer, Integer> entry : nextLoadout.entrySet()) {
+                if (snapshot.isEquipped(entry.getKey())) {
+                    builder.keep(entry.getKey());
+                } else {
+                    builder.stage(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return builder;
+    }
+}
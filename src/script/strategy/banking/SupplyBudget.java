@@ -0,0 +1,47 @@
+package script.strategy.banking;
+
+import script.paint.SkillTracker;
+
+// How much of an item used up while training to carry: enough for the rest of the session at the current
+// experience rate, topped up before it runs out rather than after
+public final class SupplyBudget {
+    // A top-up is due once less than this much training time is carried
+    public static final long LOOKAHEAD_MS = 5 * 60000;
+    private static final double SAFETY_MARGIN = 1.25;
+
+    private final int itemId;
+    private final double itemsPerExp;
+    private final int defaultExpPerHour; // Used until the tracker has a rate
+
+    public SupplyBudget(int itemId, double itemsPerExp, int defaultExpPerHour) {
+        this.itemId = itemId;
+        this.itemsPerExp = itemsPerExp;
+        this.defaultExpPerHour = defaultExpPerHour;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    // tracker may be null before the skill has gained any experience
+    public int getExpPerHour(SkillTracker tracker) {
+        int expPerHour = tracker != null ? tracker.getExpPerHour(SkillTracker.FIFTEEN_MINUTES) : 0;
+        return expPerHour > 0 ? expPerHour : defaultExpPerHour;
+    }
+
+    // Amount used over durationMs, never less than one
+    public int getAmountFor(int expPerHour, long durationMs) {
+        double amount = itemsPerExp * expPerHour * durationMs / 3600000D;
+        return (int) Math.max(1, Math.ceil(amount));
+    }
+
+    // Total to carry after a bank visit; BankPlan clamps it to what the bank holds
+    public int getWithdrawAmount(int expPerHour, long remainingMs) {
+        return (int) Math.ceil(getAmountFor(expPerHour, Math.max(remainingMs, LOOKAHEAD_MS)) * SAFETY_MARGIN);
+    }
+
+    // Near the end of a session only what is left of it has to be covered
+    public boolean isResupplyDue(int carried, int expPerHour, long remainingMs) {
+        return carried < getAmountFor(expPerHour, Math.min(remainingMs, LOOKAHEAD_MS));
+    }
+}
@@ -0,0 +1,136 @@
+package script.strategy.fishing;
+
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.catalog.InventoryPolicy;
+import script.catalog.TrainingMethod;
+import script.client.GameClient;
+import script.paint.ExperienceTracker;
+import script.scheduler.WaitCondition;
+import script.scheduler.WaitConditions;
+import script.strategy.DropEngine;
+import script.strategy.DropPattern;
+import script.strategy.InteractionPipeline;
+import script.strategy.TaskStrategy;
+import script.world.WorldSnapshot;
+
+import java.util.Arrays;
+
+// Fishes one kind of spot from the catalog, dropping the catch or taking it to the method's deposit box
+public class FishingSpotStrategy implements TaskStrategy {
+
+    private final TrainingMethod method;
+    private final int[] keptItemIds;
+    private final DropEngine drops; // Null when the catch goes to the deposit box
+    private final InteractionPipeline pipeline;
+    private final WaitCondition deposited;
+    private final WaitCondition started;
+
+    // Staged items are the next tier's tools, carried early and kept through drops
+    public FishingSpotStrategy(ExperienceTracker experienceTracker, TrainingMethod method, int... stagedItemIds) {
+        if (method.getInventoryPolicy() == InventoryPolicy.BANK || method.getTargetNpcId() < 0) {
+            throw new IllegalArgumentException("Fishing method " + method + " needs an NPC target and DROP or DEPOSIT_BOX");
+        }
+        this.method = method;
+        int[] loadoutIds = method.getLoadoutIds();
+        this.keptItemIds = Arrays.copyOf(stagedItemIds, stagedItemIds.length + loadoutIds.length);
+        System.arraycopy(loadoutIds, 0, keptItemIds, stagedItemIds.length, loadoutIds.length);
+        if (method.getInventoryPolicy() != InventoryPolicy.DROP) {
+            this.drops = null;
+        } else if (method.getProductIds().length > 0) {
+            this.drops = DropEngine.dropping(DropPattern.ZIGZAG, method.getProductIds());
+        } else {
+            this.drops = DropEngine.keeping(DropPattern.ZIGZAG, keptItemIds);
+        }
+        int spotId = method.getTargetNpcId();
+        this.pipeline = new InteractionPipeline(method.getAction(),
+                (client, snapshot, excluded) -> client.getEntities().closestNpc(spotId, excluded));
+        this.deposited = client -> hasAll(client, loadoutIds) && client.getInventory().getEmptySlots() > 0;
+        this.started = WaitCondition.any(WaitConditions.ANIMATING, WaitConditions.inventoryChanged(),
+                WaitConditions.experienceGained(experienceTracker, Skill.FISHING));
+    }
+
+    @Override
+    public void execute(GameClient client, WorldSnapshot snapshot) throws InterruptedException {
+        if (!isInFishingArea(snapshot)) {
+            walkToFishingArea(client);
+        }
+
+        if (snapshot.isInventoryFull()) {
+            handleFullInventory(client, snapshot);
+        } else {
+            startFishing(client, snapshot);
+        }
+    }
+
+    private boolean isInFishingArea(WorldSnapshot snapshot) {
+        Position position = snapshot.getPosition();
+        return position != null && method.getArea().contains(position);
+    }
+
+    private void walkToFishingArea(GameClient client) {
+        client.log("Walking to " + method + " fishing area");
+        client.getWalking().webWalk(method.getArea());
+    }
+
+    private void handleFullInventory(GameClient client, WorldSnapshot snapshot) throws InterruptedException {
+        if (drops != null) {
+            client.log("Inventory full, dropping fish");
+            drops.dropAll(client, snapshot.getTime());
+        } else {
+            client.log("Inventory full, walking to deposit box");
+            client.getWalking().webWalk(method.getDepositArea());
+            depositItems(client);
+        }
+    }
+
+    private void depositItems(GameClient client) throws InterruptedException {
+        client.log("Attempting to open deposit box");
+        if (client.getDepositBox().open()) {
+            client.getWaits().until("deposit box open", WaitConditions.DEPOSIT_BOX_OPEN, 5000);
+        }
+
+        if (client.getDepositBox().isOpen()) {
+            client.log("Deposit box is open, depositing items");
+            client.getDepositBox().depositAllExcept(keptItemIds);
+
+            client.getWaits().until("deposit", deposited, 5000);
+
+            client.log("Items deposited, closing deposit box");
+            client.getDepositBox().close();
+
+            client.getWaits().until("deposit box close", WaitConditions.DEPOSIT_BOX_CLOSED, 5000);
+
+            client.log("Deposit box closed, returning to fishing");
+        } else {
+            client.log("Failed to open deposit box");
+        }
+    }
+
+    private void startFishing(GameClient client, WorldSnapshot snapshot) throws InterruptedException {
+        if (snapshot.isAnimating() || snapshot.isMoving()) {
+            if (drops != null && snapshot.isAnimating() && drops.dropWhileBusy(client)) {
+                pipeline.cursorMoved();
+            }
+            pipeline.prepare(client, snapshot);
+        } else if (pipeline.interact(client, snapshot)) {
+            if (drops != null) {
+                drops.recordResume(client);
+            }
+            waitForFishingAnimation(client);
+        }
+    }
+
+    private void waitForFishingAnimation(GameClient client) throws InterruptedException {
+        client.getWaits().until("fishing start", started, 5000);
+    }
+
+    private static boolean hasAll(GameClient client, int[] itemIds) {
+        for (int itemId : itemIds) {
+            if (!client.getInventory().contains(itemId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,119 @@
+package script.strategy.woodcutting;
+
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.BotContext;
+import script.catalog.InventoryPolicy;
+import script.catalog.TrainingMethod;
+import script.client.GameClient;
+import script.scheduler.WaitCondition;
+import script.scheduler.WaitConditions;
+import script.state.WoodcuttingState;
+import script.strategy.DropEngine;
+import script.strategy.DropPattern;
+import script.strategy.InteractionPipeline;
+import script.strategy.TaskStrategy;
+import script.world.TargetTracker;
+import script.world.WorldSnapshot;
+
+// Cuts one kind of tree from the catalog, dropping or banking the logs as the method says
+public class WoodcuttingStrategy implements TaskStrategy {
+
+    private final BotContext context;
+    private final TrainingMethod method;
+    private final int bestAxeId;
+    private final WoodcuttingState woodcuttingState;
+    private final DropEngine drops; // Null unless the method drops its logs
+    private final TargetTracker trees;
+    private final InteractionPipeline pipeline;
+    private final WaitCondition started;
+
+    public WoodcuttingStrategy(BotContext context, TrainingMethod method, int bestAxeId, WoodcuttingState woodcuttingState) {
+        if (method.getInventoryPolicy() == InventoryPolicy.DEPOSIT_BOX || method.getTargetObjectName() == null) {
+            throw new IllegalArgumentException("Woodcutting method " + method + " needs an object target and DROP or BANK");
+        }
+        this.context = context;
+        this.method = method;
+        this.bestAxeId = bestAxeId;
+        this.woodcuttingState = woodcuttingState;
+        this.drops = method.getInventoryPolicy() == InventoryPolicy.DROP
+                ? DropEngine.dropping(DropPattern.ZIGZAG, method.getProductIds()) : null;
+        this.trees = new TargetTracker(method.getArea(), method.getTargetObjectName(), method.getRespawnMs());
+        this.pipeline = new InteractionPipeline(method.getAction(),
+                (client, snapshot, excluded) -> trees.findTarget(client, snapshot.getPosition(), snapshot.getTime(), excluded));
+        this.started = WaitCondition.any(WaitConditions.ANIMATING, WaitConditions.inventoryChanged(),
+                WaitConditions.experienceGained(context.getExperienceTracker(), Skill.WOODCUTTING));
+    }
+
+    @Override
+    public void execute(GameClient client, WorldSnapshot snapshot) throws InterruptedException {
+        if (isUnderAttack(snapshot) && method.getSafePosition() != null) {
+            moveToSafePosition(client);
+        } else if (!isInWoodcuttingArea(snapshot)) {
+            walkToWoodcuttingArea(client);
+        } else if (snapshot.isInventoryFull()) {
+            handleFullInventory(client, snapshot);
+        } else {
+            startWoodcutting(client, snapshot);
+        }
+    }
+
+    private boolean isUnderAttack(WorldSnapshot snapshot) {
+        return snapshot.isUnderAttack();
+    }
+
+    private void moveToSafePosition(GameClient client) {
+        client.log("Under attack, moving to safe position");
+        client.getWalking().webWalk(method.getSafePosition());
+    }
+
+    private boolean isInWoodcuttingArea(WorldSnapshot snapshot) {
+        Position position = snapshot.getPosition();
+        return position != null && method.getArea().contains(position);
+    }
+
+    private void walkToWoodcuttingArea(GameClient client) {
+        client.log("Walking to woodcutting area");
+        client.getWalking().webWalk(method.getArea());
+    }
+
+    private void handleFullInventory(GameClient client, WorldSnapshot snapshot) throws InterruptedException {
+        if (drops != null) {
+            client.log("Inventory full, dropping logs");
+            drops.dropAll(client, snapshot.getTime());
+        } else {
+            client.log("Inventory full, switching to banking state");
+            woodcuttingState.switchToBankingState(context, snapshot);
+        }
+    }
+
+    private void startWoodcutting(GameClient client, WorldSnapshot snapshot) throws InterruptedException {
+        if (!hasAppropriateAxe(snapshot)) {
+            client.log("No appropriate axe found, unable to cut trees");
+            return;
+        }
+
+        if (snapshot.isAnimating() || snapshot.isMoving()) {
+            if (drops != null && snapshot.isAnimating() && drops.dropWhileBusy(client)) {
+                pipeline.cursorMoved();
+            }
+            pipeline.prepare(client, snapshot);
+            return;
+        }
+
+        if (pipeline.interact(client, snapshot)) {
+            if (drops != null) {
+                drops.recordResume(client);
+            }
+            waitForWoodcuttingToStart(client);
+        }
+    }
+
+    private boolean hasAppropriateAxe(WorldSnapshot snapshot) {
+        return snapshot.hasItem(bestAxeId);
+    }
+
+    private void waitForWoodcuttingToStart(GameClient client) throws InterruptedException {
+        client.getWaits().until("woodcutting start", started, 8000);
+    }
+}
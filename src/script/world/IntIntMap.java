@@ -0,0 +1,128 @@
+package script.world;
+
+import java.util.Arrays;
+
+// Open-addressing int -> int map so item counts never get boxed. -1 marks a free slot, here as in the client's
+// "no item" slots, so it is not a valid key.
+public class IntIntMap {
+    private static final int EMPTY_KEY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    public IntIntMap(int expectedSize) {
+        int capacity = 8;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+    }
+
+    public int get(int key) {
+        if (key == EMPTY_KEY) {
+            return 0;
+        }
+        int slot = findSlot(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    public boolean containsKey(int key) {
+        return key != EMPTY_KEY && keys[findSlot(key)] == key;
+    }
+
+    public void put(int key, int value) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("-1 is not a valid key");
+        }
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            slot = findSlot(key);
+        }
+        values[slot] = value;
+    }
+
+    public void add(int key, int delta) {
+        put(key, get(key) + delta);
+    }
+
+    // Returns the removed value, or 0 when the key was not there
+    public int remove(int key) {
+        if (key == EMPTY_KEY) {
+            return 0;
+        }
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            return 0;
+        }
+        int value = values[slot];
+        // Shift later keys of the same probe run back so lookups never stop at the freed slot
+        int mask = keys.length - 1;
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != EMPTY_KEY; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = EMPTY_KEY;
+        size--;
+        return value;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] keys() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int key : keys) {
+            if (key != EMPTY_KEY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(int key) {
+        return (key * 0x9E3779B9) >>> 16;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY_KEY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
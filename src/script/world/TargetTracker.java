@@ -0,0 +1,218 @@
+package script.world;
+
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import script.client.GameClient;
+import script.client.GameEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Known positions of one kind of tree in a training area, bucketed on an 8x8 tile grid so the nearest one is found
+// without looking at the rest. Candidates are checked with single tile lookups. Trees that are gone get a predicted
+// respawn time learned from earlier respawns. A full scan of loaded objects only runs when no known tree is predicted
+// to be standing, or once a minute to pick up trees that have grown back. A tree is only known to have respawned
+// somewhere between the last look that found it gone and the one that found it back, so the estimate learns from
+// looks close together, from a tree back sooner than predicted, and from a last miss later than predicted; a tree the
+// minute's scan finds back long after the last miss says nothing more.
+public final class TargetTracker {
+    private static final int BUCKET_SHIFT = 3;
+    private static final int MAX_LOOKUPS = 4;           // Tile lookups per search before scanning
+    private static final long RESCAN_MS = 60000;
+    private static final long RECHECK_MS = 3000;        // Wait before looking again at a tree that respawns late
+    private static final long OCCUPIED_SKIP_MS = 10000; // Trees other players are cutting tend to fall before we get a log
+    private static final double RESPAWN_SMOOTHING = 0.3;
+
+    private final Area area;
+    private final String name;
+    private final int minX;
+    private final int minY;
+    private final int bucketsX;
+    private final int bucketsY;
+    private final int[][] buckets;   // Target indexes per bucket
+    private final int[] bucketSizes;
+    private final List<Position> scanned = new ArrayList<>();
+
+    private Position[] positions = new Position[16];
+    private long[] depletedAt = new long[16];   // 0 while standing
+    private long[] availableAt = new long[16];  // Predicted time the target can be used again
+    private long[] lastMissAt = new long[16];   // Last time the target was looked for and found gone
+    private int count;
+    private long respawnEstimateMs;
+    private long lastScanTime = -RESCAN_MS;
+
+    public TargetTracker(Area area, String name, long initialRespawnMs) {
+        this.area = area;
+        this.name = name;
+        this.respawnEstimateMs = initialRespawnMs;
+        int lowX = Integer.MAX_VALUE;
+        int lowY = Integer.MAX_VALUE;
+        int highX = Integer.MIN_VALUE;
+        int highY = Integer.MIN_VALUE;
+        for (Position position : area.getPositions()) {
+            lowX = Math.min(lowX, position.getX());
+            lowY = Math.min(lowY, position.getY());
+            highX = Math.max(highX, position.getX());
+            highY = Math.max(highY, position.getY());
+        }
+        this.minX = lowX;
+        this.minY = lowY;
+        this.bucketsX = ((highX - lowX) >> BUCKET_SHIFT) + 1;
+        this.bucketsY = ((highY - lowY) >> BUCKET_SHIFT) + 1;
+        this.buckets = new int[bucketsX * bucketsY][];
+        this.bucketSizes = new int[bucketsX * bucketsY];
+    }
+
+    // Nearest target predicted to be standing and free, or null when the area has none right now.
+    // excluded is the tile being worked on when lining up the next target, otherwise null.
+    public GameEntity findTarget(GameClient client, Position from, long now, Position excluded) {
+        if (now - lastScanTime >= RESCAN_MS) {
+            scan(client, now);
+        }
+        for (int lookup = 0; lookup < MAX_LOOKUPS; lookup++) {
+            int index = findNearestAvailable(from, now, excluded);
+            if (index < 0) {
+                if (lastScanTime == now) {
+                    return null;
+                }
+                scan(client, now);
+                continue;
+            }
+            GameEntity target = client.getEntities().objectAt(positions[index], name);
+            if (target == null) {
+                markGone(index, now);
+            } else if (client.getEntities().countOtherPlayersNear(positions[index], 1) > 0) {
+                markStanding(index, now);
+                availableAt[index] = now + OCCUPIED_SKIP_MS;
+            } else {
+                markStanding(index, now);
+                return target;
+            }
+        }
+        // Every lookup missed, so fall back to the scan the strategies used before; it cannot skip a tile
+        return excluded == null ? client.getEntities().closestObject(area, name) : null;
+    }
+
+    private void scan(GameClient client, long now) {
+        client.getEntities().readObjectPositions(area, name, scanned);
+        for (Position position : scanned) {
+            int index = indexOf(position);
+            markStanding(index >= 0 ? index : add(position), now);
+        }
+        lastScanTime = now;
+    }
+
+    private void markStanding(int index, long now) {
+        if (depletedAt[index] != 0) {
+            long latest = now - depletedAt[index];
+            long earliest = lastMissAt[index] - depletedAt[index];
+            if (latest < respawnEstimateMs) {
+                learnRespawn(latest);
+            } else if (latest - earliest <= RECHECK_MS) {
+                learnRespawn((earliest + latest) / 2);
+            } else if (earliest > respawnEstimateMs) {
+                learnRespawn(earliest);
+            }
+            depletedAt[index] = 0;
+        }
+        availableAt[index] = 0;
+    }
+
+    private void learnRespawn(long respawnMs) {
+        respawnEstimateMs = (long) (respawnEstimateMs + RESPAWN_SMOOTHING * (respawnMs - respawnEstimateMs));
+    }
+
+    private void markGone(int index, long now) {
+        if (depletedAt[index] == 0) {
+            depletedAt[index] = now;
+            availableAt[index] = now + respawnEstimateMs;
+        } else {
+            availableAt[index] = now + RECHECK_MS;
+        }
+        lastMissAt[index] = now;
+    }
+
+    long getRespawnEstimate() {
+        return respawnEstimateMs;
+    }
+
+    // Searches rings of buckets outwards and stops once a ring cannot hold anything closer than the best so far
+    private int findNearestAvailable(Position from, long now, Position excluded) {
+        int centreX = clamp((from.getX() - minX) >> BUCKET_SHIFT, bucketsX);
+        int centreY = clamp((from.getY() - minY) >> BUCKET_SHIFT, bucketsY);
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int maxRing = Math.max(bucketsX, bucketsY);
+        for (int ring = 0; ring < maxRing; ring++) {
+            if (best >= 0 && (ring - 1) << BUCKET_SHIFT > bestDistance) {
+                break;
+            }
+            for (int by = centreY - ring; by <= centreY + ring; by++) {
+                if (by < 0 || by >= bucketsY) {
+                    continue;
+                }
+                boolean edgeRow = by == centreY - ring || by == centreY + ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for (int bx = centreX - ring; bx <= centreX + ring; bx += step) {
+                    if (bx < 0 || bx >= bucketsX) {
+                        continue;
+                    }
+                    int bucket = by * bucketsX + bx;
+                    for (int i = 0; i < bucketSizes[bucket]; i++) {
+                        int index = buckets[bucket][i];
+                        if (availableAt[index] > now || positions[index].equals(excluded)) {
+                            continue;
+                        }
+                        int distance = distance(from, positions[index]);
+                        if (distance < bestDistance) {
+                            best = index;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int indexOf(Position position) {
+        int bucket = bucketOf(position);
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            if (positions[buckets[bucket][i]].equals(position)) {
+                return buckets[bucket][i];
+            }
+        }
+        return -1;
+    }
+
+    private int add(Position position) {
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, count * 2);
+            depletedAt = Arrays.copyOf(depletedAt, count * 2);
+            availableAt = Arrays.copyOf(availableAt, count * 2);
+            lastMissAt = Arrays.copyOf(lastMissAt, count * 2);
+        }
+        int bucket = bucketOf(position);
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new int[4];
+        } else if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+        }
+        buckets[bucket][bucketSizes[bucket]++] = count;
+        positions[count] = position;
+        return count++;
+    }
+
+    private int bucketOf(Position position) {
+        return clamp((position.getY() - minY) >> BUCKET_SHIFT, bucketsY) * bucketsX + clamp((position.getX() - minX) >> BUCKET_SHIFT, bucketsX);
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    private static int distance(Position a, Position b) {
+        return Math.max(Math.abs(a.getX() - b.getX()), Math.abs(a.getY() - b.getY()));
+    }
+}
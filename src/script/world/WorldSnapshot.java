@@ -0,0 +1,149 @@
+package script.world;
+
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.client.ClientEquipment;
+import script.client.ClientInventory;
+import script.client.ClientPlayer;
+import script.client.GameClient;
+import script.scheduler.LoopActivity;
+
+import java.util.Arrays;
+
+// Immutable view of everything the states and strategies read, captured once per loop
+public final class WorldSnapshot {
+    // Every skill is read, so a method or strategy for a new skill needs no change here
+    private static final Skill[] SKILLS = Skill.values();
+    private static final int INVENTORY_SIZE = ClientInventory.SIZE;
+
+    private final long time;
+    private final IntIntMap inventoryCounts;
+    private final int usedSlots;
+    private final int[] equippedIds;
+    private final int[] staticLevels;
+    private final Position position;
+    private final int animation;
+    private final boolean animating;
+    private final boolean moving;
+    private final boolean interacting;
+    private final boolean underAttack;
+
+    private WorldSnapshot(long time, IntIntMap inventoryCounts, int usedSlots, int[] equippedIds, int[] staticLevels,
+                          Position position, int animation, boolean animating, boolean moving, boolean interacting,
+                          boolean underAttack) {
+        this.time = time;
+        this.inventoryCounts = inventoryCounts;
+        this.usedSlots = usedSlots;
+        this.equippedIds = equippedIds;
+        this.staticLevels = staticLevels;
+        this.position = position;
+        this.animation = animation;
+        this.animating = animating;
+        this.moving = moving;
+        this.interacting = interacting;
+        this.underAttack = underAttack;
+    }
+
+    public static WorldSnapshot capture(GameClient client) {
+        int[] slotIds = new int[ClientInventory.SIZE];
+        int[] slotAmounts = new int[ClientInventory.SIZE];
+        int usedSlots = client.getInventory().readItems(slotIds, slotAmounts);
+        IntIntMap inventoryCounts = new IntIntMap(usedSlots);
+        for (int slot = 0; slot < slotIds.length; slot++) {
+            if (slotIds[slot] >= 0) {
+                inventoryCounts.add(slotIds[slot], slotAmounts[slot]);
+            }
+        }
+
+        int[] equippedIds = new int[ClientEquipment.SIZE];
+        equippedIds = Arrays.copyOf(equippedIds, client.getEquipment().readItemIds(equippedIds));
+        Arrays.sort(equippedIds);
+
+        int[] staticLevels = new int[SKILLS.length];
+        for (Skill skill : SKILLS) {
+            staticLevels[skill.ordinal()] = client.getSkills().getStatic(skill);
+        }
+
+        ClientPlayer player = client.getPlayer();
+        return new WorldSnapshot(client.currentTime(), inventoryCounts, usedSlots, equippedIds, staticLevels,
+                player.getPosition(), player.getAnimation(), player.isAnimating(), player.isMoving(),
+                player.isInteracting(), player.isUnderAttack());
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public boolean inventoryContains(int itemId) {
+        return inventoryCounts.containsKey(itemId);
+    }
+
+    public int getInventoryAmount(int itemId) {
+        return inventoryCounts.get(itemId);
+    }
+
+    public int[] getInventoryItemIds() {
+        return inventoryCounts.keys();
+    }
+
+    public boolean isInventoryFull() {
+        return usedSlots >= INVENTORY_SIZE;
+    }
+
+    public boolean isInventoryEmpty() {
+        return usedSlots == 0;
+    }
+
+    public int getEmptySlots() {
+        return INVENTORY_SIZE - usedSlots;
+    }
+
+    public boolean isEquipped(int itemId) {
+        return Arrays.binarySearch(equippedIds, itemId) >= 0;
+    }
+
+    public boolean isEquipmentEmpty() {
+        return equippedIds.length == 0;
+    }
+
+    public boolean hasItem(int itemId) {
+        return inventoryContains(itemId) || isEquipped(itemId);
+    }
+
+    public int getStaticLevel(Skill skill) {
+        return staticLevels[skill.ordinal()];
+    }
+
+    // Null while logged out or loading
+    public Position getPosition() {
+        return position;
+    }
+
+    public boolean isAnimating() {
+        return animating;
+    }
+
+    public boolean isMoving() {
+        return moving;
+    }
+
+    public boolean isUnderAttack() {
+        return underAttack;
+    }
+
+    public LoopActivity getActivity() {
+        if (animating) {
+            return LoopActivity.ANIMATING;
+        } else if (interacting) {
+            return LoopActivity.INTERACTING;
+        } else if (moving) {
+            return LoopActivity.WALKING;
+        }
+        return LoopActivity.IDLE;
+    }
+
+    public int getFingerprint() {
+        int positionHash = position != null ? 31 * position.getX() + position.getY() : 0;
+        return 31 * positionHash + animation;
+    }
+}
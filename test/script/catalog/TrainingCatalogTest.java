@@ -0,0 +1,167 @@
+package script.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.client.sim.SimulatedGameClient;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrainingCatalogTest {
+    private SimulatedGameClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new SimulatedGameClient(1, new Position(3208, 3220, 0));
+    }
+
+    @Test
+    void bundledMethodsAreOrderedByLevel() {
+        TrainingCatalog catalog = TrainingCatalog.load(client);
+
+        List<TrainingMethod> fishing = catalog.getMethods(Skill.FISHING);
+        assertEquals(3, fishing.size());
+        assertEquals("small_net", fishing.get(0).getName());
+        assertEquals("fly", fishing.get(1).getName());
+        assertEquals("lobster_pot", fishing.get(2).getName());
+        assertSame(fishing.get(1), catalog.next(fishing.get(0)));
+        assertNull(catalog.next(fishing.get(2)));
+        assertNull(catalog.next(catalog.getMethods(Skill.WOODCUTTING).get(2)));
+    }
+
+    @Test
+    void selectPicksTheHighestMethodReached() {
+        TrainingCatalog catalog = TrainingCatalog.load(client);
+
+        assertEquals("small_net", catalog.select(Skill.FISHING, 1).getName());
+        assertEquals("small_net", catalog.select(Skill.FISHING, 19).getName());
+        assertEquals("fly", catalog.select(Skill.FISHING, 20).getName());
+        assertEquals("lobster_pot", catalog.select(Skill.FISHING, 99).getName());
+        assertEquals("lobster_pot", catalog.select(Skill.FISHING, 120).getName());
+        assertEquals("oak", catalog.select(Skill.WOODCUTTING, 59).getName());
+        assertNull(catalog.select(Skill.MINING, 50));
+    }
+
+    @Test
+    void bundledMethodsAreParsedInFull() {
+        TrainingMethod fly = TrainingCatalog.load(client).select(Skill.FISHING, 20);
+
+        assertArrayEquals(new int[]{309}, fly.getToolIds());
+        assertEquals(1, fly.getSupplies().length);
+        assertEquals(314, fly.getSupplies()[0].getItemId());
+        assertArrayEquals(new int[]{309, 314}, fly.getLoadoutIds());
+        assertEquals(1526, fly.getTargetNpcId());
+        assertNull(fly.getTargetObjectName());
+        assertEquals("Lure", fly.getAction());
+        assertEquals(InventoryPolicy.DROP, fly.getInventoryPolicy());
+        assertEquals(20000, fly.getExpectedExpPerHour());
+    }
+
+    @Test
+    void toolTiersFollowTheLevel() {
+        TrainingCatalog catalog = TrainingCatalog.load(client);
+
+        assertArrayEquals(new int[]{1, 6, 11, 21, 31, 41}, catalog.getToolLevels(Skill.WOODCUTTING));
+        assertEquals(1351, catalog.getToolId(Skill.WOODCUTTING, 1));
+        assertEquals(1351, catalog.getToolId(Skill.WOODCUTTING, 5));
+        assertEquals(1353, catalog.getToolId(Skill.WOODCUTTING, 6));
+        assertEquals(1355, catalog.getToolId(Skill.WOODCUTTING, 30));
+        assertEquals(1359, catalog.getToolId(Skill.WOODCUTTING, 99));
+        assertEquals(-1, catalog.getToolId(Skill.FISHING, 50));
+        assertEquals(0, catalog.getToolLevels(Skill.FISHING).length);
+    }
+
+    @Test
+    void goalsDefaultToTheMaximumLevel() {
+        TrainingCatalog catalog = TrainingCatalog.load(client);
+
+        assertEquals(99, catalog.getGoalLevel(Skill.FISHING));
+        assertEquals(99, catalog.getGoalLevel(Skill.WOODCUTTING));
+        assertFalse(catalog.isGoalReached(Skill.FISHING, 98));
+        assertTrue(catalog.isGoalReached(Skill.FISHING, 99));
+        // Nothing to train it with
+        assertTrue(catalog.isGoalReached(Skill.MINING, 1));
+    }
+
+    @Test
+    void goalsCanBeSetPerSkill() {
+        Properties properties = method("willow", "WOODCUTTING", "30", "object:Willow tree");
+        properties.setProperty("goal.WOODCUTTING", "70");
+
+        TrainingCatalog catalog = TrainingCatalog.parse(client, properties);
+
+        assertEquals(70, catalog.getGoalLevel(Skill.WOODCUTTING));
+        assertFalse(catalog.isGoalReached(Skill.WOODCUTTING, 69));
+        assertTrue(catalog.isGoalReached(Skill.WOODCUTTING, 70));
+    }
+
+    @Test
+    void tiersAreSortedByLevelAndGoalsClamped() {
+        Properties properties = new Properties();
+        properties.setProperty("tools.MINING", "1275:41, 1265:1,1269:6");
+        properties.setProperty("goal.MINING", "150");
+
+        TrainingCatalog catalog = TrainingCatalog.parse(client, properties);
+
+        assertArrayEquals(new int[]{1, 6, 41}, catalog.getToolLevels(Skill.MINING));
+        assertEquals(1269, catalog.getToolId(Skill.MINING, 40));
+        assertEquals(1275, catalog.getToolId(Skill.MINING, 41));
+        assertEquals(99, catalog.getGoalLevel(Skill.MINING));
+    }
+
+    @Test
+    void objectTargetsAndOptionalKeysAreRead() {
+        Properties properties = method("willow", "WOODCUTTING", "30", "object:Willow tree");
+        properties.setProperty("method.willow.respawn", "9000");
+        properties.setProperty("method.willow.area", "3085,3235,3090,3238,1");
+        properties.setProperty("method.willow.safe", "3088,3240,0");
+
+        TrainingMethod willow = TrainingCatalog.parse(client, properties).select(Skill.WOODCUTTING, 30);
+
+        assertEquals("Willow tree", willow.getTargetObjectName());
+        assertEquals(-1, willow.getTargetNpcId());
+        assertEquals(9000, willow.getRespawnMs());
+        assertEquals(1, willow.getArea().getPlane());
+        assertEquals(0, willow.getToolIds().length);
+        assertNull(willow.getDepositArea());
+        assertNotNull(willow.getSafePosition());
+    }
+
+    @Test
+    void badEntriesAreSkipped() {
+        Properties properties = method("willow", "WOODCUTTING", "30", "object:Willow tree");
+        properties.putAll(method("typo", "WOODCUTING", "1", "object:Tree"));
+        properties.putAll(method("no_target", "WOODCUTTING", "1", "tree"));
+        properties.putAll(method("box", "FISHING", "1", "npc:1530"));
+        properties.setProperty("method.box.inventory", "DEPOSIT_BOX");
+        properties.setProperty("tools.WOODCUTTING", "1351-1");
+        properties.setProperty("tools.SMITHING", "");
+        properties.setProperty("goal.FISHING", "seventy");
+
+        TrainingCatalog catalog = TrainingCatalog.parse(client, properties);
+
+        assertEquals(1, catalog.getMethods(Skill.WOODCUTTING).size());
+        assertEquals("willow", catalog.select(Skill.WOODCUTTING, 1).getName());
+        assertTrue(catalog.getMethods(Skill.FISHING).isEmpty());
+        assertEquals(0, catalog.getToolLevels(Skill.WOODCUTTING).length);
+        assertEquals(0, catalog.getToolLevels(Skill.SMITHING).length);
+        assertEquals(99, catalog.getGoalLevel(Skill.FISHING));
+    }
+
+    private static Properties method(String name, String skill, String level, String target) {
+        String prefix = "method." + name + ".";
+        Properties properties = new Properties();
+        properties.setProperty(prefix + "skill", skill);
+        properties.setProperty(prefix + "level", level);
+        properties.setProperty(prefix + "target", target);
+        properties.setProperty(prefix + "action", "Chop down");
+        properties.setProperty(prefix + "area", "3085,3235,3090,3238");
+        properties.setProperty(prefix + "inventory", "DROP");
+        properties.setProperty(prefix + "xph", "10000");
+        return properties;
+    }
+}
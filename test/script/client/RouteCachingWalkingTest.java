@@ -0,0 +1,186 @@
+package script.client;
+
+import org.junit.jupiter.api.Test;
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import script.client.sim.SimulatedGameClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteCachingWalkingTest {
+    private static final Position START = new Position(3200, 3200, 0);
+    private static final Position DESTINATION = new Position(3230, 3200, 0);
+    private static final String ROUTE_KEY = RouteCache.routeKey(START, "position:3230,3200,0");
+
+    // Where the walks below leave the player
+    private final class Player implements ClientPlayer {
+        private Position position = START;
+
+        @Override
+        public String getName() {
+            return "player";
+        }
+
+        @Override
+        public Position getPosition() {
+            return position;
+        }
+
+        @Override
+        public int getAnimation() {
+            return -1;
+        }
+
+        @Override
+        public boolean isAnimating() {
+            return false;
+        }
+
+        @Override
+        public boolean isMoving() {
+            return false;
+        }
+
+        @Override
+        public boolean isInteracting() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnderAttack() {
+            return false;
+        }
+    }
+
+    // Web walks in a straight line, optionally through a door, and notes every call
+    private final class Walking implements ClientWalking {
+        private final List<String> calls = new ArrayList<>();
+        private boolean throughDoor;
+        private Position blocked;
+
+        @Override
+        public boolean webWalk(Area... areas) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean webWalk(Position position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean webWalk(WalkedTrail trail, Area area) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean webWalk(WalkedTrail trail, Position destination) {
+            calls.add("web");
+            for (int x = player.position.getX() + 1; x <= destination.getX(); x++) {
+                trail.add(new Position(x, destination.getY(), destination.getZ()));
+                if (throughDoor && x == 3215) {
+                    trail.markObstacle();
+                }
+            }
+            player.position = destination;
+            return true;
+        }
+
+        @Override
+        public boolean walkPath(List<Position> path) {
+            calls.add("steps " + path.size());
+            for (Position waypoint : path) {
+                if (waypoint.equals(blocked)) {
+                    return false;
+                }
+                player.position = waypoint;
+            }
+            return true;
+        }
+    }
+
+    private final Player player = new Player();
+    private final Walking walking = new Walking();
+    private final RouteCache routeCache = new RouteCache(null);
+    private final SimulatedGameClient client = new SimulatedGameClient(1, START) {
+        @Override
+        public ClientPlayer getPlayer() {
+            return player;
+        }
+    };
+    private final RouteCachingWalking routeCachingWalking = new RouteCachingWalking(client, walking, routeCache);
+
+    @Test
+    void recordsTheWebWalkAsWaypoints() {
+        assertTrue(routeCachingWalking.webWalk(DESTINATION));
+
+        assertEquals(Arrays.asList("web"), walking.calls);
+        assertEquals(Arrays.asList(START, new Position(3206, 3200, 0), new Position(3212, 3200, 0),
+                new Position(3218, 3200, 0), new Position(3224, 3200, 0), DESTINATION), routeCache.get(ROUTE_KEY));
+    }
+
+    @Test
+    void replaysTheRouteWithLocalSteps() {
+        routeCachingWalking.webWalk(DESTINATION);
+        player.position = START;
+        walking.calls.clear();
+
+        assertTrue(routeCachingWalking.webWalk(DESTINATION));
+
+        // A segment of five waypoints, checked, then the rest
+        assertEquals(Arrays.asList("steps 5", "steps 1"), walking.calls);
+        assertEquals(DESTINATION, player.position);
+    }
+
+    @Test
+    void joinsTheRouteAtTheClosestWaypoint() {
+        routeCachingWalking.webWalk(DESTINATION);
+        player.position = new Position(3211, 3203, 0);
+        walking.calls.clear();
+
+        assertTrue(routeCachingWalking.webWalk(DESTINATION));
+
+        assertEquals(Arrays.asList("steps 4"), walking.calls);
+        assertEquals(DESTINATION, player.position);
+    }
+
+    @Test
+    void webWalksAgainWhenTheRouteStopsGettingThere() {
+        routeCachingWalking.webWalk(DESTINATION);
+        player.position = START;
+        walking.calls.clear();
+        walking.blocked = new Position(3218, 3200, 0);
+
+        assertTrue(routeCachingWalking.webWalk(DESTINATION));
+
+        assertEquals(Arrays.asList("steps 5", "web"), walking.calls);
+        assertEquals(DESTINATION, player.position);
+        // Learned again from where the steps got stuck
+        assertEquals(new Position(3212, 3200, 0), routeCache.get(ROUTE_KEY).get(0));
+    }
+
+    @Test
+    void doesNotCacheAWalkThroughADoorOrGate() {
+        walking.throughDoor = true;
+
+        assertTrue(routeCachingWalking.webWalk(DESTINATION));
+        assertEquals(0, routeCache.size());
+
+        player.position = START;
+        walking.throughDoor = false;
+        assertTrue(routeCachingWalking.webWalk(DESTINATION));
+        assertEquals(Arrays.asList("web", "web"), walking.calls);
+    }
+
+    @Test
+    void doesNotCacheAWalkThatJumped() {
+        // The walk keeps to the destination's row, so its first step jumps 20 tiles the way stairs would
+        assertTrue(routeCachingWalking.webWalk(new Position(3230, 3220, 0)));
+
+        assertEquals(0, routeCache.size());
+    }
+}
@@ -0,0 +1,74 @@
+package script.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedCacheTest {
+    @Test
+    void sharesOneValueUntilTheLastRelease() {
+        AtomicInteger loads = new AtomicInteger();
+        Object first = SharedCache.acquire("shared-test", null, () -> "value" + loads.incrementAndGet());
+        Object second = SharedCache.acquire("shared-test", null, () -> "value" + loads.incrementAndGet());
+        assertSame(first, second);
+
+        SharedCache.release("shared-test", null);
+        SharedCache.release("shared-test", null);
+        assertEquals("value2", SharedCache.acquire("shared-test", null, () -> "value" + loads.incrementAndGet()));
+        SharedCache.release("shared-test", null);
+    }
+
+    @Test
+    void aSlowLoadOnlyHoldsUpItsOwnKey() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> slow = executor.submit(() -> SharedCache.acquire("slow-test", null, () -> {
+                loading.countDown();
+                await(finish);
+                return "slow";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> waiting = executor.submit(() -> SharedCache.acquire("slow-test", null, () -> "again"));
+
+            // Another key loads while the slow one is still on disk
+            assertEquals("fast", SharedCache.acquire("fast-test", null, () -> "fast"));
+            assertFalse(waiting.isDone());
+
+            finish.countDown();
+            assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+            assertEquals("slow", waiting.get(5, TimeUnit.SECONDS));
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+            SharedCache.release("fast-test", null);
+            SharedCache.release("slow-test", null);
+            SharedCache.release("slow-test", null);
+        }
+    }
+
+    @Test
+    void aFailedLoadIsTriedAgain() {
+        assertThrows(IllegalStateException.class, () -> SharedCache.acquire("failing-test", null, () -> {
+            throw new IllegalStateException("unreadable");
+        }));
+        assertEquals("loaded", SharedCache.acquire("failing-test", null, () -> "loaded"));
+        SharedCache.release("failing-test", null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package script.paint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XpSampleBufferTest {
+    private static final long MINUTE = 60000;
+    private static final long HOUR = 60 * MINUTE;
+
+    @Test
+    void noRateWithoutElapsedTime() {
+        XpSampleBuffer buffer = new XpSampleBuffer(4, 0);
+        assertEquals(-1, buffer.getExpPerHour(HOUR, 0, 0));
+
+        buffer.record(5000, 10);
+        assertEquals(-1, buffer.getExpPerHour(HOUR, 5000, 10));
+    }
+
+    @Test
+    void rateIsMeasuredFromTheOldestSampleInTheWindow() {
+        XpSampleBuffer buffer = new XpSampleBuffer(8, 0);
+        buffer.record(0, 0);
+        buffer.record(10 * MINUTE, 1000);
+        buffer.record(20 * MINUTE, 3000);
+
+        assertEquals(9000, buffer.getExpPerHour(HOUR, 30 * MINUTE, 4500));
+        // Only the sample at 20 minutes is inside a 15 minute window
+        assertEquals(9000, buffer.getExpPerHour(15 * MINUTE, 30 * MINUTE, 4500));
+        assertEquals(12000, buffer.getExpPerHour(20 * MINUTE, 30 * MINUTE, 5000));
+    }
+
+    @Test
+    void wrapsAroundKeepingTheNewestSamples() {
+        XpSampleBuffer buffer = new XpSampleBuffer(4, 0);
+        for (int minute = 0; minute <= 8; minute++) {
+            buffer.record(minute * MINUTE, minute * minute * 10);
+        }
+
+        // Minutes 5 to 8 are left: 250 to 640 xp
+        assertEquals(7800, buffer.getExpPerHour(HOUR, 8 * MINUTE, 640));
+        // The window starts at minute 6, 360 xp
+        assertEquals(8400, buffer.getExpPerHour(2 * MINUTE, 8 * MINUTE, 640));
+    }
+
+    @Test
+    void samplesCloserThanTheIntervalReplaceTheNewest() {
+        XpSampleBuffer buffer = new XpSampleBuffer(2, MINUTE);
+        buffer.record(0, 0);
+        buffer.record(10000, 100);
+        buffer.record(20000, 150);
+        buffer.record(30000, 160);
+
+        // Had every sample been kept, the two slots would only span the last 10 seconds at 3600 xp/h
+        assertEquals(19200, buffer.getExpPerHour(HOUR, 30000, 160));
+    }
+}
@@ -0,0 +1,136 @@
+package script.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoopSchedulerTest {
+    private static final int TICK_MS = LoopScheduler.TICK_MS;
+    // Widest the phase bounds are left once converged, plus the drift picked up between two probes
+    private static final int PRECISION_MS = 45;
+
+    private TickClock tickClock;
+    private LoopScheduler scheduler;
+    private long phase = 250; // Ticks fall at phase + k * TICK_MS
+    private long time;
+
+    @BeforeEach
+    void setUp() {
+        tickClock = new TickClock(0);
+        scheduler = new LoopScheduler(tickClock, 0, new Random(1));
+    }
+
+    @Test
+    void probesWhileThePhaseIsUnknown() {
+        // A walking wakeup is two ticks out, but the middle of the unknown phase comes first
+        assertTrue(scheduler.nextDelay(0, LoopActivity.WALKING) < TICK_MS);
+    }
+
+    @Test
+    void narrowsOntoTheTickPhase() {
+        run(30, LoopActivity.ANIMATING);
+
+        assertPhaseFound();
+        assertTrue(scheduler.nextDelay(time, LoopActivity.WALKING) >= TICK_MS, "no probe once the phase is known");
+    }
+
+    @Test
+    void wakesJustAfterEveryTickOnceConverged() {
+        run(30, LoopActivity.ANIMATING);
+
+        // Probes land anywhere in the bounds, but no tick waits longer than the wakeup offset for the loop
+        long tick = nextTrueTick(time);
+        for (int i = 0; i < 20; i++) {
+            while (time <= tick) {
+                scheduler.beginIteration(time, LoopActivity.ANIMATING, fingerprint(time));
+                time += scheduler.nextDelay(time, LoopActivity.ANIMATING);
+            }
+            long sinceTick = time - tick;
+            assertTrue(sinceTick <= 90 + PRECISION_MS, "woke " + sinceTick + " ms after the tick");
+            tick += TICK_MS;
+        }
+    }
+
+    @Test
+    void driftWidensTheBoundsUntilTheNextProbe() {
+        run(30, LoopActivity.ANIMATING);
+        long anchor = tickClock.getAnchor();
+
+        // A minute without a wakeup leaves room for 100 ms of drift either way
+        time += 60000;
+        scheduler.beginIteration(time, LoopActivity.ANIMATING, fingerprint(time));
+
+        assertEquals(100, Math.floorMod(tickClock.getAnchor() - anchor, TICK_MS));
+        assertTrue(scheduler.nextDelay(time, LoopActivity.WALKING) < TICK_MS, "probe after the bounds widened");
+        time += scheduler.nextDelay(time, LoopActivity.ANIMATING);
+        run(30, LoopActivity.ANIMATING);
+        assertPhaseFound();
+    }
+
+    @Test
+    void changeOutsideTheBoundsStartsThemOver() {
+        run(30, LoopActivity.ANIMATING);
+        long tick = nextTrueTick(time);
+        scheduler.beginIteration(tick + 150, LoopActivity.ANIMATING, 1000);
+
+        // A lag spike moved the tick to somewhere in the next 150 ms, where the bounds rule it out
+        scheduler.beginIteration(tick + 300, LoopActivity.ANIMATING, 1001);
+
+        assertEquals(tick + 300, tickClock.getAnchor());
+        assertTrue(scheduler.nextDelay(tick + 300, LoopActivity.WALKING) < TICK_MS, "probe in the new bounds");
+    }
+
+    @Test
+    void reactionIsTimedFromTheTickThatEndedTheAction() {
+        run(30, LoopActivity.ANIMATING);
+        long actionEnd = nextTrueTick(time);
+        while (time < actionEnd) {
+            scheduler.beginIteration(time, LoopActivity.ANIMATING, fingerprint(time));
+            time += scheduler.nextDelay(time, LoopActivity.ANIMATING);
+        }
+
+        scheduler.beginIteration(time, LoopActivity.IDLE, fingerprint(time));
+
+        int latency = scheduler.getStats().getAverageReactionLatency();
+        assertTrue(latency <= time - actionEnd && latency >= time - actionEnd - PRECISION_MS, "latency " + latency);
+    }
+
+    @Test
+    void lateIterationCountsFromTheEarliestTickItCouldHaveMissed() {
+        run(30, LoopActivity.ANIMATING);
+        scheduler.beginIteration(time, LoopActivity.ANIMATING, fingerprint(time));
+        long actionEnd = nextTrueTick(time);
+
+        // The iteration after the action ended comes a tick late, e.g. after a slow interaction
+        time = actionEnd + TICK_MS + 50;
+        scheduler.beginIteration(time, LoopActivity.IDLE, fingerprint(time));
+
+        int latency = scheduler.getStats().getAverageReactionLatency();
+        assertTrue(latency <= TICK_MS + 50 && latency >= TICK_MS + 50 - PRECISION_MS, "latency " + latency);
+    }
+
+    // Loop iterations against the true ticks, whose state changes on every tick
+    private void run(int iterations, LoopActivity activity) {
+        for (int i = 0; i < iterations; i++) {
+            scheduler.beginIteration(time, activity, fingerprint(time));
+            time += scheduler.nextDelay(time, activity);
+        }
+    }
+
+    private int fingerprint(long now) {
+        return (int) Math.floorDiv(now - phase, TICK_MS);
+    }
+
+    private long nextTrueTick(long now) {
+        return phase + (Math.floorDiv(now - phase, TICK_MS) + 1) * TICK_MS;
+    }
+
+    // The clock is anchored on the latest time the tick can fall at, so it is never ahead of the true phase
+    private void assertPhaseFound() {
+        long error = Math.floorMod(tickClock.getAnchor() - phase, TICK_MS);
+        assertTrue(error <= PRECISION_MS, "anchor " + error + " ms after the tick");
+    }
+}
@@ -0,0 +1,159 @@
+package script.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.BotRunner;
+import script.client.sim.SimulatedGameClient;
+import script.state.BotState;
+import script.state.FishingState;
+import script.state.WoodcuttingState;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillSchedulerTest {
+    // Among the trees west of Lumbridge, away from every bank
+    private static final Position TREES = new Position(3180, 3230, 0);
+    private static final int SMALL_NET = 303;
+    private static final int BRONZE_AXE = 1351;
+    private static final int LOGS = 1511;
+    private static final int FLY_ROD = 309;
+    private static final int FEATHER = 314;
+    private static final int TROUT = 335;
+
+    @TempDir
+    File directory;
+
+    private SimulatedGameClient client;
+    private BotRunner runner;
+    private BotState fishing;
+    private BotState woodcutting;
+    private SkillScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        runner.stop();
+    }
+
+    @Test
+    void finishedWoodcuttingCarryingOnlyAnAxeSwitches() throws IOException {
+        start("goal.WOODCUTTING=10\ngoal.FISHING=20\n");
+        reachLevel(Skill.WOODCUTTING, 10);
+        // A lower tier than the steel axe the level allows, carried rather than wielded
+        client.addInventoryItem(BRONZE_AXE, 1);
+
+        assertSame(fishing, pickNext(woodcutting));
+    }
+
+    @Test
+    void finishedWoodcuttingWithLogsWaitsForTheBankTrip() throws IOException {
+        start("goal.WOODCUTTING=10\ngoal.FISHING=20\n");
+        reachLevel(Skill.WOODCUTTING, 10);
+        client.addInventoryItem(BRONZE_AXE, 1);
+        client.addInventoryItem(LOGS, 5);
+
+        assertSame(woodcutting, pickNext(woodcutting));
+    }
+
+    @Test
+    void finishedFishingCarryingOnlyItsLoadoutSwitches() throws IOException {
+        start("goal.WOODCUTTING=10\ngoal.FISHING=20\n");
+        reachLevel(Skill.FISHING, 20);
+        client.addInventoryItem(FLY_ROD, 1);
+        client.addInventoryItem(FEATHER, 200);
+
+        assertSame(woodcutting, pickNext(fishing));
+    }
+
+    @Test
+    void finishedFishingWithACatchWaitsForTheBankTrip() throws IOException {
+        start("goal.WOODCUTTING=10\ngoal.FISHING=20\n");
+        reachLevel(Skill.FISHING, 20);
+        client.addInventoryItem(FLY_ROD, 1);
+        client.addInventoryItem(FEATHER, 200);
+        client.addInventoryItem(TROUT, 3);
+
+        assertSame(fishing, pickNext(fishing));
+    }
+
+    @Test
+    void unfinishedSkillIsKept() throws IOException {
+        start("goal.WOODCUTTING=10\ngoal.FISHING=20\n");
+        client.addInventoryItem(LOGS, 5);
+
+        assertSame(woodcutting, pickNext(woodcutting));
+    }
+
+    @Test
+    void picksTheSkillClosestToItsGoal() throws IOException {
+        start("goal.WOODCUTTING=30\ngoal.FISHING=10\n");
+        assertSame(fishing, pickNext(null));
+        runner.stop();
+
+        start("goal.WOODCUTTING=10\ngoal.FISHING=30\n");
+        assertSame(woodcutting, pickNext(null));
+    }
+
+    @Test
+    void carriedLoadoutSavesTheBankTrip() throws IOException {
+        // Woodcutting is about 25 seconds closer to its goal, far less than a trip to the bank and back
+        start("goal.WOODCUTTING=5\ngoal.FISHING=4\n");
+        assertSame(woodcutting, pickNext(null));
+
+        client.addInventoryItem(SMALL_NET, 1);
+        assertSame(fishing, pickNext(null));
+    }
+
+    @Test
+    void leavesAnUnfinishedSkillForOneCloserByMoreThanTheTrip() throws IOException {
+        start("goal.WOODCUTTING=2\ngoal.FISHING=40\n");
+        client.addInventoryItem(SMALL_NET, 1);
+
+        assertTrue(scheduler.estimateBankTrip(runner) > 0);
+        assertSame(woodcutting, pickNext(fishing));
+    }
+
+    @Test
+    void stopsOnceEveryGoalIsReached() throws IOException {
+        start("goal.WOODCUTTING=1\ngoal.FISHING=1\n");
+
+        assertSame(fishing, pickNext(fishing));
+        assertTrue(client.isStopped());
+    }
+
+    private void start(String overrides) throws IOException {
+        File file = new File(new File(directory, "AccountTrainer"), "training-methods.properties");
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), overrides.getBytes(StandardCharsets.UTF_8));
+        client = new SimulatedGameClient(1, TREES) {
+            @Override
+            public String getDataDirectory() {
+                return directory.getPath();
+            }
+        };
+        client.defineItem(FEATHER, "Feather", true, false);
+        runner = new BotRunner(client, new Random(1));
+        fishing = new FishingState(runner);
+        woodcutting = new WoodcuttingState(runner);
+        scheduler = new SkillScheduler(runner.getTrainingCatalog());
+    }
+
+    private void reachLevel(Skill skill, int level) {
+        client.addExperience(skill, client.getSkills().getExperienceForLevel(level) - client.getSkills().getExperience(skill));
+    }
+
+    private BotState pickNext(BotState current) {
+        List<BotState> states = Arrays.asList(fishing, woodcutting);
+        return scheduler.pickNext(runner, states, current);
+    }
+}
@@ -0,0 +1,150 @@
+package script.state;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.osbot.rs07.api.map.Position;
+import org.osbot.rs07.api.ui.Skill;
+import script.client.sim.SimulatedGameClient;
+import script.paint.SkillTracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionJournalTest {
+    private static final long MINUTE = 60000;
+
+    @TempDir
+    File directory;
+
+    private File file;
+    private SimulatedGameClient client;
+
+    @BeforeEach
+    void setUp() {
+        file = new File(new File(directory, "AccountTrainer"), "session-simulated.log");
+        client = new SimulatedGameClient(1, new Position(3208, 3220, 0));
+    }
+
+    @Test
+    void replayResumesTheLatestStateAndTrackers() {
+        client.addExperience(Skill.FISHING, 5000);
+        SessionJournal journal = new SessionJournal(file);
+        journal.recordState(client, Skill.WOODCUTTING, 10 * MINUTE);
+        journal.recordState(client, Skill.FISHING, 40 * MINUTE);
+        SkillTracker tracker = new SkillTracker(client, Skill.FISHING, client.currentTime(), true);
+        client.sleep(5 * MINUTE);
+        client.addExperience(Skill.FISHING, 2000);
+        journal.recordTrackers(client, Collections.singletonList(tracker));
+
+        SessionJournal replayed = replay();
+
+        assertEquals(Skill.FISHING, replayed.getStateSkill());
+        assertEquals(40 * MINUTE, replayed.getSessionEnd());
+        SessionJournal.TrackerRecord record = replayed.getTracker(Skill.FISHING);
+        assertNotNull(record);
+        assertEquals(tracker.getStartExp(), record.getStartExp());
+        assertEquals(tracker.getStartLevel(), record.getStartLevel());
+        assertEquals(5 * MINUTE, record.getActiveTime());
+        assertNull(replayed.getTracker(Skill.WOODCUTTING));
+    }
+
+    @Test
+    void longBreaksStartANewSession() {
+        SessionJournal journal = new SessionJournal(file);
+        journal.recordState(client, Skill.FISHING, 40 * MINUTE);
+        journal.recordTrackers(client, Collections.singletonList(new SkillTracker(client, Skill.FISHING, 0, true)));
+        client.sleep(31 * MINUTE);
+
+        SessionJournal replayed = replay();
+
+        assertNull(replayed.getStateSkill());
+        assertNull(replayed.getTracker(Skill.FISHING));
+    }
+
+    @Test
+    void trackersAheadOfTheAccountAreDropped() throws IOException {
+        // Recorded by a run that gained more experience than the account now has, e.g. on another machine
+        write("X 0 FISHING 0 1 60000 999999999",
+                "X 0 WOODCUTTING 0 1 60000 0");
+
+        SessionJournal replayed = replay();
+
+        assertNull(replayed.getTracker(Skill.FISHING));
+        assertNotNull(replayed.getTracker(Skill.WOODCUTTING));
+    }
+
+    @Test
+    void badLinesAreSkipped() throws IOException {
+        write("S 0 FISHING 600000",
+                "S 0 COOKING",
+                "Q 0 FISHING 1",
+                "X 0 WOODCUTTING 0 1",
+                "S 0 WOODCUT");
+
+        SessionJournal replayed = replay();
+
+        assertEquals(Skill.FISHING, replayed.getStateSkill());
+        assertEquals(600000, replayed.getSessionEnd());
+        assertNull(replayed.getTracker(Skill.WOODCUTTING));
+    }
+
+    @Test
+    void replayCompactsToTheLatestRecords() throws IOException {
+        write("S 0 WOODCUTTING 60000",
+                "X 0 FISHING 0 1 1000 0",
+                "S 0 FISHING 120000",
+                "X 0 FISHING 0 1 2000 0");
+
+        SessionJournal replayed = replay();
+
+        assertEquals(2, lines().length);
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        SessionJournal again = replay();
+        assertEquals(Skill.FISHING, again.getStateSkill());
+        assertEquals(120000, again.getSessionEnd());
+        assertEquals(2000, again.getTracker(Skill.FISHING).getActiveTime());
+        assertEquals(replayed.getSessionEnd(), again.getSessionEnd());
+    }
+
+    @Test
+    void appendingCompactsALongJournal() throws IOException {
+        SessionJournal journal = new SessionJournal(file);
+        for (int i = 0; i < 1200; i++) {
+            journal.recordState(client, i % 2 == 0 ? Skill.FISHING : Skill.WOODCUTTING, i);
+        }
+
+        assertTrue(lines().length <= 512, "journal has " + lines().length + " lines");
+        SessionJournal replayed = replay();
+        assertEquals(Skill.WOODCUTTING, replayed.getStateSkill());
+        assertEquals(1199, replayed.getSessionEnd());
+    }
+
+    @Test
+    void missingJournalResumesNothing() {
+        SessionJournal replayed = replay();
+
+        assertNull(replayed.getStateSkill());
+        assertFalse(file.exists());
+    }
+
+    private SessionJournal replay() {
+        SessionJournal journal = new SessionJournal(file);
+        journal.replay(client);
+        return journal;
+    }
+
+    private void write(String... lines) throws IOException {
+        assertTrue(file.getParentFile().mkdirs());
+        Files.write(file.toPath(), (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] lines() throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).split("\n");
+    }
+}
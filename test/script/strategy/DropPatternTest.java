@@ -0,0 +1,62 @@
+package script.strategy;
+
+import org.junit.jupiter.api.Test;
+import script.client.ClientInventory;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropPatternTest {
+    @Test
+    void rowsFollowTheSlotOrder() {
+        for (int index = 0; index < ClientInventory.SIZE; index++) {
+            assertEquals(index, DropPattern.ROWS.slotAt(index));
+        }
+    }
+
+    @Test
+    void zigzagRunsBackAlongEveryOtherRow() {
+        assertArrayEquals(new int[]{0, 1, 2, 3, 7, 6, 5, 4, 8, 9, 10, 11}, firstSlots(DropPattern.ZIGZAG, 12));
+        assertEquals(24, DropPattern.ZIGZAG.slotAt(ClientInventory.SIZE - 4));
+        assertEquals(27, DropPattern.ZIGZAG.slotAt(ClientInventory.SIZE - 1));
+    }
+
+    @Test
+    void columnsRunDownTheFirstAndUpTheSecond() {
+        assertArrayEquals(new int[]{0, 4, 8, 12, 16, 20, 24, 25, 21, 17, 13, 9, 5, 1, 2},
+                firstSlots(DropPattern.COLUMNS, 15));
+        assertEquals(3, DropPattern.COLUMNS.slotAt(ClientInventory.SIZE - 1));
+    }
+
+    @Test
+    void everyPatternVisitsEachSlotOnce() {
+        for (DropPattern pattern : DropPattern.values()) {
+            int[] slots = firstSlots(pattern, ClientInventory.SIZE);
+            Arrays.sort(slots);
+            for (int slot = 0; slot < ClientInventory.SIZE; slot++) {
+                assertEquals(slot, slots[slot], pattern.name());
+            }
+        }
+    }
+
+    @Test
+    void snakingPatternsOnlyStepToANeighbour() {
+        for (DropPattern pattern : new DropPattern[]{DropPattern.ZIGZAG, DropPattern.COLUMNS}) {
+            for (int index = 1; index < ClientInventory.SIZE; index++) {
+                int from = pattern.slotAt(index - 1);
+                int to = pattern.slotAt(index);
+                int distance = Math.abs(from % 4 - to % 4) + Math.abs(from / 4 - to / 4);
+                assertEquals(1, distance, pattern + " step " + index);
+            }
+        }
+    }
+
+    private static int[] firstSlots(DropPattern pattern, int count) {
+        int[] slots = new int[count];
+        for (int index = 0; index < count; index++) {
+            slots[index] = pattern.slotAt(index);
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,118 @@
+package script.strategy;
+
+import org.junit.jupiter.api.Test;
+import script.client.GameClient;
+import script.world.WorldSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredStrategyRegistryTest {
+    // Remembers the level it was created for
+    private static final class LevelStrategy implements TaskStrategy {
+        private final String name;
+        private final int level;
+
+        private LevelStrategy(String name, int level) {
+            this.name = name;
+            this.level = level;
+        }
+
+        @Override
+        public void execute(GameClient client, WorldSnapshot snapshot) {
+        }
+    }
+
+    private final List<String> created = new ArrayList<>();
+
+    private LevelStrategy create(String name, int level) {
+        created.add(name + "@" + level);
+        return new LevelStrategy(name, level);
+    }
+
+    @Test
+    void picksTheHighestTierAtOrBelowTheLevel() {
+        TieredStrategyRegistry registry = new TieredStrategyRegistry()
+                .register(1, level -> create("net", level))
+                .register(40, level -> create("pot", level))
+                .register(20, level -> create("fly", level));
+
+        assertEquals("net", name(registry.select(1)));
+        assertEquals("net", name(registry.select(19)));
+        assertEquals("fly", name(registry.select(20)));
+        assertEquals("fly", name(registry.select(39)));
+        assertEquals("pot", name(registry.select(40)));
+        assertEquals("pot", name(registry.select(99)));
+    }
+
+    @Test
+    void levelsBelowTheFirstTierUseIt() {
+        TieredStrategyRegistry registry = new TieredStrategyRegistry().register(15, level -> create("oak", level));
+
+        assertEquals("oak", name(registry.select(1)));
+    }
+
+    @Test
+    void keepsOneInstancePerTier() {
+        TieredStrategyRegistry registry = new TieredStrategyRegistry()
+                .register(1, level -> create("net", level))
+                .register(20, level -> create("fly", level));
+
+        TaskStrategy first = registry.select(5);
+        assertSame(first, registry.select(10));
+        registry.select(25);
+        assertSame(first, registry.select(19));
+        assertEquals(2, created.size());
+    }
+
+    @Test
+    void splitTiersReuseTheEnclosingFactory() {
+        TieredStrategyRegistry registry = new TieredStrategyRegistry()
+                .register(1, level -> create("tree", level))
+                .register(15, level -> create("oak", level))
+                .splitAt(6, 11, 21, 15);
+
+        // Each tier is built for the level it is first selected at, so a tool upgrade gets a fresh strategy
+        assertEquals("tree@5", describe(registry.select(5)));
+        assertEquals("tree@6", describe(registry.select(6)));
+        assertEquals("tree@6", describe(registry.select(10)));
+        assertEquals("tree@14", describe(registry.select(14)));
+        assertEquals("oak@20", describe(registry.select(20)));
+        assertEquals("oak@21", describe(registry.select(21)));
+        assertEquals(5, created.size());
+    }
+
+    @Test
+    void splittingBelowTheFirstTierDoesNothing() {
+        TieredStrategyRegistry registry = new TieredStrategyRegistry()
+                .register(10, level -> create("oak", level))
+                .splitAt(5);
+
+        assertSame(registry.select(5), registry.select(12));
+        assertEquals(1, created.size());
+    }
+
+    @Test
+    void registeringAgainReplacesTheTier() {
+        TieredStrategyRegistry registry = new TieredStrategyRegistry().register(1, level -> create("old", level));
+        registry.select(1);
+        registry.register(1, level -> create("new", level));
+
+        assertEquals("new", name(registry.select(1)));
+    }
+
+    @Test
+    void selectingFromAnEmptyRegistryFails() {
+        assertThrows(IllegalStateException.class, () -> new TieredStrategyRegistry().select(1));
+    }
+
+    private static String name(TaskStrategy strategy) {
+        return ((LevelStrategy) strategy).name;
+    }
+
+    private static String describe(TaskStrategy strategy) {
+        return name(strategy) + "@" + ((LevelStrategy) strategy).level;
+    }
+}
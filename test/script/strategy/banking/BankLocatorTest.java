@@ -0,0 +1,56 @@
+package script.strategy.banking;
+
+import org.junit.jupiter.api.Test;
+import org.osbot.rs07.api.map.Position;
+import script.client.RouteCache;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankLocatorTest {
+    private static final int LUMBRIDGE = 0;
+    private static final int DRAYNOR = 8;
+    private static final String DRAYNOR_KEY = RouteCache.areaKey(3092, 3240, 3097, 3246, 0);
+
+    // East of Draynor: 83 tiles to it, and 27 to Lumbridge plus the stairs and the two floors up, 87
+    private final Position start = new Position(3180, 3225, 0);
+    private final RouteCache routeCache = new RouteCache(null);
+    private final BankLocator locator = new BankLocator(routeCache);
+
+    @Test
+    void estimatesEveryBankWithoutCachedRoutes() {
+        assertEquals(83, locator.getPathCost(start, DRAYNOR));
+        assertEquals(87, locator.getPathCost(start, LUMBRIDGE));
+        assertEquals("Draynor", locator.getNearestBankName(start));
+        assertEquals(83, locator.getNearestBankCost(start));
+    }
+
+    @Test
+    void scalesEstimatesByTheDetourOfCachedRoutes() {
+        // 120 tiles walked where 83 were estimated
+        routeCache.put(RouteCache.routeKey(start, DRAYNOR_KEY), Arrays.asList(
+                new Position(3180, 3225, 0), new Position(3180, 3245, 0),
+                new Position(3097, 3245, 0), new Position(3097, 3228, 0)));
+
+        assertEquals(120, locator.getPathCost(start, DRAYNOR));
+        assertEquals(87 * 120 / 83, locator.getPathCost(start, LUMBRIDGE));
+        // Unscaled, the 87 tile estimate would have beaten the 120 tiles walked
+        assertEquals("Draynor", locator.getNearestBankName(start));
+        assertEquals(120, locator.getNearestBankCost(start));
+    }
+
+    @Test
+    void comparesCachedRoutesByTheirWalkedLength() {
+        // Draynor by way of a long detour north, and Lumbridge already up the stairs
+        routeCache.put(RouteCache.routeKey(start, DRAYNOR_KEY), Arrays.asList(
+                new Position(3180, 3225, 0), new Position(3180, 3305, 0), new Position(3097, 3305, 0),
+                new Position(3097, 3246, 0)));
+        routeCache.put(RouteCache.routeKey(start, RouteCache.areaKey(3207, 3215, 3210, 3222, 2)), Arrays.asList(
+                new Position(3180, 3225, 2), new Position(3207, 3222, 2)));
+
+        assertEquals(222, locator.getPathCost(start, DRAYNOR));
+        assertEquals(27, locator.getPathCost(start, LUMBRIDGE));
+        assertEquals("Lumbridge", locator.getNearestBankName(start));
+    }
+}
@@ -0,0 +1,150 @@
+package script.strategy.banking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.osbot.rs07.api.map.Position;
+import script.client.ClientInventory;
+import script.client.sim.SimulatedGameClient;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankPlanTest {
+    private static final int FLY_ROD = 309;
+    private static final int FEATHER = 314;
+    private static final int TROUT = 335;
+    private static final int SALMON = 331;
+    private static final int AXE = 1351;
+
+    private final int[] slotIds = new int[ClientInventory.SIZE];
+    private final int[] slotAmounts = new int[ClientInventory.SIZE];
+    private SimulatedGameClient client;
+    private BankCache bankCache;
+
+    @BeforeEach
+    void setUp() {
+        Arrays.fill(slotIds, -1);
+        client = new SimulatedGameClient(1, new Position(3208, 3220, 2));
+        bankCache = new BankCache(null);
+    }
+
+    @Test
+    void supplyIsClampedToWhatTheBankHolds() {
+        carry(0, FLY_ROD, 1);
+        carry(1, FEATHER, 30);
+        bank(FEATHER, 120);
+        BankRequest request = BankRequest.builder().keep(FLY_ROD).supply(FEATHER, 500).build();
+
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+
+        assertEquals(-1, plan.findUnavailableItem(bankCache));
+        assertEquals(1, plan.getActionCount());
+        plan.recordIn(bankCache);
+        assertEquals(0, bankCache.getAmount(FEATHER));
+    }
+
+    @Test
+    void supplyIsNotClampedBeforeTheBankIsRead() {
+        carry(1, FEATHER, 30);
+        BankRequest request = BankRequest.builder().supply(FEATHER, 500).build();
+
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+
+        assertFalse(bankCache.isKnown());
+        assertEquals(-1, plan.findUnavailableItem(bankCache));
+        assertEquals(1, plan.getActionCount());
+    }
+
+    @Test
+    void withdrawalTheBankLacksIsReported() {
+        bank(FEATHER, 10);
+        BankRequest request = BankRequest.builder().withdraw(FLY_ROD, 1).build();
+
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+
+        assertEquals(FLY_ROD, plan.findUnavailableItem(bankCache));
+    }
+
+    @Test
+    void stagedItemTheBankLacksIsSkipped() {
+        bank(FEATHER, 10);
+        BankRequest request = BankRequest.builder().stage(AXE, 1).build();
+
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+
+        assertEquals(-1, plan.findUnavailableItem(bankCache));
+        assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    void keptAndWithdrawnItemsAreNeverDeposited() {
+        carry(0, FLY_ROD, 1);
+        carry(1, FEATHER, 600);
+        carry(2, TROUT, 1);
+        bank(FEATHER, 1000);
+        BankRequest request = BankRequest.builder().keep(FLY_ROD).supply(FEATHER, 500).build();
+
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+
+        // Only the trout goes in; the rod and the feathers already carried are enough
+        assertFalse(plan.isDepositAllFirst());
+        assertEquals(1, plan.getActionCount());
+        plan.recordIn(bankCache);
+        assertEquals(1, bankCache.getAmount(TROUT));
+        assertEquals(1000, bankCache.getAmount(FEATHER));
+    }
+
+    @Test
+    void depositAllIsUsedWhenItTakesFewerActions() {
+        carry(0, FLY_ROD, 1);
+        for (int slot = 1; slot < 14; slot++) {
+            carry(slot, slot % 2 == 0 ? TROUT : SALMON, 1);
+        }
+        carry(14, 1511, 1);
+        carry(15, 1521, 1);
+        bank(FEATHER, 1000);
+        BankRequest request = BankRequest.builder().keep(FLY_ROD).supply(FEATHER, 500).build();
+
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+
+        // Four single deposits and a withdrawal against a deposit-all and two withdrawals
+        assertTrue(plan.isDepositAllFirst());
+        assertEquals(3, plan.getActionCount());
+    }
+
+    @Test
+    void tiesKeepTheSingleDeposits() {
+        carry(0, FLY_ROD, 1);
+        carry(1, TROUT, 1);
+        carry(2, SALMON, 1);
+        bank(FEATHER, 1000);
+        BankRequest request = BankRequest.builder().keep(FLY_ROD).supply(FEATHER, 500).build();
+
+        BankPlan plan = BankPlan.create(slotIds, slotAmounts, request, bankCache);
+
+        assertFalse(plan.isDepositAllFirst());
+        assertEquals(3, plan.getActionCount());
+    }
+
+    @Test
+    void completeOnceDepositsAreGoneAndTargetsCarried() {
+        carry(0, TROUT, 1);
+        BankPlan depositOnly = BankPlan.create(slotIds, slotAmounts, BankRequest.builder().build(), bankCache);
+        BankPlan withdrawal = BankPlan.create(slotIds, slotAmounts, BankRequest.builder().withdraw(FLY_ROD, 1).build(), bankCache);
+
+        // The simulated inventory starts empty
+        assertTrue(depositOnly.isComplete(client.getInventory()));
+        assertFalse(withdrawal.isComplete(client.getInventory()));
+    }
+
+    private void carry(int slot, int itemId, int amount) {
+        slotIds[slot] = itemId;
+        slotAmounts[slot] = amount;
+    }
+
+    private void bank(int itemId, int amount) {
+        client.addBankItem(itemId, amount);
+        bankCache.refresh(client.getBank());
+    }
+}
@@ -0,0 +1,63 @@
+package script.strategy.banking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.osbot.rs07.api.map.Position;
+import script.client.sim.SimulatedGameClient;
+import script.world.WorldSnapshot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankingEngineTest {
+    private static final int FEATHER = 314;
+    // Inside the Lumbridge castle bank
+    private static final Position LUMBRIDGE_BANK = new Position(3208, 3220, 2);
+
+    private SimulatedGameClient client;
+    private BankCache bankCache;
+    private BankingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        client = new SimulatedGameClient(1, LUMBRIDGE_BANK);
+        client.defineItem(FEATHER, "Feather", true, false);
+        client.addBankItem(FEATHER, 1000);
+        bankCache = new BankCache(null);
+        engine = new BankingEngine(bankCache, new BankLocator(client.getRouteCache()));
+    }
+
+    @Test
+    void readsTheBankItOpens() throws InterruptedException {
+        assertEquals(BankingEngine.Result.COMPLETED, withdrawFeathers());
+
+        assertTrue(bankCache.isKnown());
+        assertEquals(900, bankCache.getAmount(FEATHER));
+    }
+
+    @Test
+    void readsABankFoundAlreadyOpen() throws InterruptedException {
+        client.getBank().open();
+
+        assertEquals(BankingEngine.Result.COMPLETED, withdrawFeathers());
+
+        assertTrue(bankCache.isKnown());
+        assertEquals(900, bankCache.getAmount(FEATHER));
+    }
+
+    @Test
+    void rereadsABankLeftOpenAndChangedByOthers() throws InterruptedException {
+        assertEquals(BankingEngine.Result.COMPLETED, withdrawFeathers());
+        client.getBank().open();
+        client.addBankItem(FEATHER, 500);
+
+        // The hundred feathers are still carried, so this visit only reads the bank
+        assertEquals(BankingEngine.Result.COMPLETED, withdrawFeathers());
+
+        assertEquals(1400, bankCache.getAmount(FEATHER));
+    }
+
+    private BankingEngine.Result withdrawFeathers() throws InterruptedException {
+        BankRequest request = BankRequest.builder().withdraw(FEATHER, 100).build();
+        return engine.execute(client, WorldSnapshot.capture(client), request);
+    }
+}
@@ -0,0 +1,53 @@
+package script.strategy.banking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupplyBudgetTest {
+    private static final int FEATHER = 314;
+    private static final long HOUR = 3600000;
+
+    // A feather per 2 xp, which keeps the arithmetic exact
+    private final SupplyBudget feathers = new SupplyBudget(FEATHER, 0.5, 1000);
+
+    @Test
+    void amountFollowsTheRateAndIsNeverZero() {
+        assertEquals(500, feathers.getAmountFor(1000, HOUR));
+        assertEquals(250, feathers.getAmountFor(1000, HOUR / 2));
+        assertEquals(1, feathers.getAmountFor(1000, 0));
+        assertEquals(1, feathers.getAmountFor(0, HOUR));
+    }
+
+    @Test
+    void withdrawalCoversTheSessionWithAMargin() {
+        assertEquals(625, feathers.getWithdrawAmount(1000, HOUR));
+    }
+
+    @Test
+    void withdrawalCoversAtLeastTheLookahead() {
+        int lookahead = (int) Math.ceil(feathers.getAmountFor(1000, SupplyBudget.LOOKAHEAD_MS) * 1.25);
+        assertEquals(lookahead, feathers.getWithdrawAmount(1000, 0));
+        assertEquals(lookahead, feathers.getWithdrawAmount(1000, -HOUR));
+    }
+
+    @Test
+    void resupplyIsDueBelowTheLookahead() {
+        int lookahead = feathers.getAmountFor(1000, SupplyBudget.LOOKAHEAD_MS);
+        assertTrue(feathers.isResupplyDue(lookahead - 1, 1000, HOUR));
+        assertFalse(feathers.isResupplyDue(lookahead, 1000, HOUR));
+    }
+
+    @Test
+    void resupplyNearTheSessionEndOnlyCoversWhatIsLeft() {
+        long remaining = 60000;
+        int needed = feathers.getAmountFor(1000, remaining);
+        assertFalse(feathers.isResupplyDue(needed, 1000, remaining));
+        assertTrue(feathers.isResupplyDue(needed - 1, 1000, remaining));
+    }
+
+    @Test
+    void defaultRateIsUsedWithoutATracker() {
+        assertEquals(1000, feathers.getExpPerHour(null));
+    }
+}
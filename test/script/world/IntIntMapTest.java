@@ -0,0 +1,115 @@
+package script.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntMapTest {
+    @Test
+    void missingKeysReadAsZero() {
+        IntIntMap map = new IntIntMap(4);
+        assertEquals(0, map.get(995));
+        assertFalse(map.containsKey(995));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void putOverwritesAndAddAccumulates() {
+        IntIntMap map = new IntIntMap(4);
+        map.put(314, 100);
+        map.put(314, 40);
+        map.add(314, 5);
+        map.add(995, 60);
+        assertEquals(45, map.get(314));
+        assertEquals(60, map.get(995));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void freeSlotMarkerIsNotAKey() {
+        IntIntMap map = new IntIntMap(4);
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, 1));
+        assertEquals(0, map.get(-1));
+        assertFalse(map.containsKey(-1));
+        assertEquals(0, map.remove(-1));
+    }
+
+    @Test
+    void growsPastTheExpectedSize() {
+        IntIntMap map = new IntIntMap(2);
+        for (int key = 0; key < 1000; key++) {
+            map.put(key, key * 3);
+        }
+        assertEquals(1000, map.size());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(key * 3, map.get(key));
+        }
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertEquals(0, keys[0]);
+        assertEquals(999, keys[999]);
+    }
+
+    @Test
+    void removeKeepsCollidingKeysReachable() {
+        // Multiples of the table size share the low bits the probe starts from often enough to build long runs
+        IntIntMap map = new IntIntMap(8);
+        int[] keys = new int[12];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i << 16;
+            map.put(keys[i], i + 1);
+        }
+        for (int i = 0; i < keys.length; i += 2) {
+            assertEquals(i + 1, map.remove(keys[i]));
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 == 0 ? 0 : i + 1, map.get(keys[i]));
+            assertEquals(i % 2 != 0, map.containsKey(keys[i]));
+        }
+        assertEquals(keys.length / 2, map.size());
+        assertEquals(0, map.remove(keys[0]));
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomEdits() {
+        IntIntMap map = new IntIntMap(16);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(200);
+            switch (random.nextInt(3)) {
+                case 0:
+                    map.put(key, i);
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    Integer removed = expected.remove(key);
+                    assertEquals(removed != null ? removed : 0, map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.getOrDefault(key, 0), map.get(key));
+                    break;
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        IntIntMap map = new IntIntMap(4);
+        map.put(1, 1);
+        map.put(2, 2);
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(1));
+        assertEquals(0, map.keys().length);
+    }
+}
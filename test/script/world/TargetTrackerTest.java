@@ -0,0 +1,214 @@
+package script.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.osbot.rs07.api.map.Area;
+import org.osbot.rs07.api.map.Position;
+import script.client.ClientEntities;
+import script.client.GameEntity;
+import script.client.sim.SimulatedGameClient;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetTrackerTest {
+    private static final String TREE = "Tree";
+    private static final long RESPAWN_MS = 10000;
+
+    // Trees standing right now and tiles next to another player
+    private final Set<Position> standing = new HashSet<>();
+    private final Set<Position> occupied = new HashSet<>();
+    private SimulatedGameClient client;
+    private TargetTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        ClientEntities entities = new Entities();
+        client = new SimulatedGameClient(1, tile(0, 0)) {
+            @Override
+            public ClientEntities getEntities() {
+                return entities;
+            }
+        };
+        tracker = new TargetTracker(new Area(3000, 3000, 3063, 3063), TREE, RESPAWN_MS);
+    }
+
+    @Test
+    void nearerTreeTwoRingsOutBeatsOneInTheNextRing() {
+        // From the last tile of its bucket, a tree one bucket back is 10 tiles away and one two buckets on only 9
+        standing.add(tile(13, 23));
+        standing.add(tile(32, 23));
+
+        assertEquals(tile(32, 23), find(tile(23, 23), 0));
+    }
+
+    @Test
+    void treeInTheSameBucketBeatsFartherOnes() {
+        standing.add(tile(20, 20));
+        standing.add(tile(30, 23));
+        standing.add(tile(60, 60));
+
+        assertEquals(tile(20, 20), find(tile(23, 23), 0));
+    }
+
+    @Test
+    void excludedTreeIsPassedOver() {
+        standing.add(tile(24, 23));
+        standing.add(tile(30, 23));
+
+        assertEquals(tile(30, 23), tracker.findTarget(client, tile(23, 23), 0, tile(24, 23)).getPosition());
+    }
+
+    @Test
+    void occupiedTreeIsSkippedForAWhile() {
+        standing.add(tile(24, 23));
+        standing.add(tile(30, 23));
+        occupied.add(tile(24, 23));
+
+        assertEquals(tile(30, 23), find(tile(23, 23), 0));
+        occupied.clear();
+        assertEquals(tile(30, 23), find(tile(23, 23), 9000));
+        assertEquals(tile(24, 23), find(tile(23, 23), 10000));
+    }
+
+    @Test
+    void goneTreeIsPassedOverUntilItsPredictedRespawn() {
+        standing.add(tile(24, 23));
+        standing.add(tile(30, 23));
+        find(tile(23, 23), 0);
+        standing.remove(tile(24, 23));
+
+        assertEquals(tile(30, 23), find(tile(23, 23), 1000));
+        standing.add(tile(24, 23));
+        assertEquals(tile(30, 23), find(tile(23, 23), 10999));
+        assertEquals(tile(24, 23), find(tile(23, 23), 11000));
+        // Back when predicted, which says nothing new
+        assertEquals(RESPAWN_MS, tracker.getRespawnEstimate());
+    }
+
+    @Test
+    void treeFoundBackByALateScanLeavesTheEstimate() {
+        standing.add(tile(24, 23));
+        find(tile(23, 23), 0);
+        standing.remove(tile(24, 23));
+        assertNull(tracker.findTarget(client, tile(23, 23), 1000, null));
+        standing.add(tile(24, 23));
+
+        // The minute's scan only shows the tree came back some time in the last minute
+        assertEquals(tile(24, 23), find(tile(23, 23), 61000));
+        assertEquals(RESPAWN_MS, tracker.getRespawnEstimate());
+    }
+
+    @Test
+    void lateRespawnRaisesTheEstimate() {
+        standing.add(tile(24, 23));
+        find(tile(23, 23), 0);
+        standing.remove(tile(24, 23));
+        assertNull(tracker.findTarget(client, tile(23, 23), 1000, null));
+        assertNull(tracker.findTarget(client, tile(23, 23), 11000, null));
+        assertNull(tracker.findTarget(client, tile(23, 23), 14000, null));
+        standing.add(tile(24, 23));
+
+        // Back between the misses 13 and 16 seconds after it fell
+        assertEquals(tile(24, 23), find(tile(23, 23), 17000));
+        assertEquals(11350, tracker.getRespawnEstimate());
+    }
+
+    @Test
+    void earlyRespawnLowersTheEstimate() {
+        standing.add(tile(24, 23));
+        find(tile(23, 23), 0);
+        standing.remove(tile(24, 23));
+        assertNull(tracker.findTarget(client, tile(23, 23), 1000, null));
+        standing.add(tile(24, 23));
+
+        // No tree is predicted to stand yet, so this scans and finds it back after 4 seconds at most
+        assertEquals(tile(24, 23), find(tile(23, 23), 5000));
+        assertEquals(8200, tracker.getRespawnEstimate());
+    }
+
+    private Position find(Position from, long now) {
+        GameEntity target = tracker.findTarget(client, from, now, null);
+        assertNotNull(target);
+        return target.getPosition();
+    }
+
+    private static Position tile(int x, int y) {
+        return new Position(3000 + x, 3000 + y, 0);
+    }
+
+    private final class Entities implements ClientEntities {
+        @Override
+        public GameEntity closestNpc(int npcId) {
+            return null;
+        }
+
+        @Override
+        public GameEntity closestNpc(int npcId, Position excluded) {
+            return null;
+        }
+
+        @Override
+        public GameEntity closestObject(String name) {
+            return null;
+        }
+
+        // Only reached when every tile lookup missed
+        @Override
+        public GameEntity closestObject(Area area, String name) {
+            return null;
+        }
+
+        @Override
+        public GameEntity objectAt(Position position, String name) {
+            return standing.contains(position) ? new Tree(position) : null;
+        }
+
+        @Override
+        public void readObjectPositions(Area area, String name, List<Position> positions) {
+            positions.clear();
+            positions.addAll(standing);
+        }
+
+        @Override
+        public int countOtherPlayersNear(Position position, int distance) {
+            return occupied.contains(position) ? 1 : 0;
+        }
+    }
+
+    private final class Tree implements GameEntity {
+        private final Position position;
+
+        private Tree(Position position) {
+            this.position = position;
+        }
+
+        @Override
+        public int getId() {
+            return 1276;
+        }
+
+        @Override
+        public Position getPosition() {
+            return position;
+        }
+
+        @Override
+        public boolean exists() {
+            return standing.contains(position);
+        }
+
+        @Override
+        public boolean interact(String action) {
+            return true;
+        }
+
+        @Override
+        public boolean hover() {
+            return true;
+        }
+    }
+}